@@ -0,0 +1,66 @@
+package com.pingpong;
+
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.common.JwtUtils;
+import com.pingpong.common.VerifiedToken;
+import com.pingpong.common.VerifiedTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * 벤치마크에서 공통으로 사용하는 JWT, JwtUtils, mock exchange 생성 유틸리티
+ */
+public final class BenchmarkFixtures {
+
+    public static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static GatewayMetrics gatewayMetrics() {
+        return new GatewayMetrics(new SimpleMeterRegistry());
+    }
+
+    /**
+     * @param cacheEnabled false면 매 호출마다 서명 검증을 수행하도록 캐시를 비활성화
+     */
+    public static JwtUtils jwtUtils(boolean cacheEnabled, GatewayMetrics gatewayMetrics) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VerifiedTokenCache cache = cacheEnabled
+                ? new VerifiedTokenCache(10_000, registry)
+                : new VerifiedTokenCache(1, registry) {
+                    @Override
+                    public VerifiedToken get(String token) {
+                        return null;
+                    }
+
+                    @Override
+                    public void put(VerifiedToken verified) {
+                    }
+                };
+        return new JwtUtils(SECRET, cache, gatewayMetrics);
+    }
+
+    public static String token(long expiresInMillis) {
+        return Jwts.builder()
+                .setSubject("benchmark-user")
+                .setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    public static MockServerWebExchange exchange(String path, String token) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
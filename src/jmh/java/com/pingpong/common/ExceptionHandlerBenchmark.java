@@ -0,0 +1,49 @@
+package com.pingpong.common;
+
+import com.pingpong.BenchmarkFixtures;
+import com.pingpong.exception.BusinessLogicException;
+import com.pingpong.exception.ExceptionCode;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CustomGlobalExceptionHandler의 오류 응답 렌더링 처리량
+ * 매 호출마다 새 mock exchange에 오류 응답을 기록
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private CustomGlobalExceptionHandler handler;
+    private BusinessLogicException businessLogicException;
+    private ExpiredJwtException expiredJwtException;
+
+    @Setup
+    public void setUp() {
+        handler = new CustomGlobalExceptionHandler(new ErrorResponseWriter(BenchmarkFixtures.gatewayMetrics()));
+
+        businessLogicException = new BusinessLogicException(ExceptionCode.TOKEN_EXPIRED);
+        expiredJwtException = new ExpiredJwtException(null, null, "expired");
+    }
+
+    @Benchmark
+    public Void renderBusinessLogicException() {
+        return handler.handle(BenchmarkFixtures.exchange("/core/employees", null), businessLogicException).block();
+    }
+
+    @Benchmark
+    public Void renderJwtException() {
+        return handler.handle(BenchmarkFixtures.exchange("/auth/employees", null), expiredJwtException).block();
+    }
+
+    @Benchmark
+    public BusinessLogicException createBusinessLogicException() {
+        return new BusinessLogicException(ExceptionCode.TOKEN_NOT_AUTHENTICATED);
+    }
+}
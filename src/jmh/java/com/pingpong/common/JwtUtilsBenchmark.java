@@ -0,0 +1,48 @@
+package com.pingpong.common;
+
+import com.pingpong.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtils 검증 경로의 처리량
+ * cacheEnabled=false 는 매 호출 서명 검증(HMAC + JSON 파싱), true 는 VerifiedTokenCache 적중 경로
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private JwtUtils jwtUtils;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = BenchmarkFixtures.jwtUtils(cacheEnabled, BenchmarkFixtures.gatewayMetrics());
+        validToken = BenchmarkFixtures.token(TimeUnit.HOURS.toMillis(1));
+        tamperedToken = validToken.substring(0, validToken.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateToken(validToken);
+    }
+
+    @Benchmark
+    public boolean getValidation() {
+        return jwtUtils.getValidation(validToken);
+    }
+
+    @Benchmark
+    public boolean validateTamperedToken() {
+        return jwtUtils.validateToken(tamperedToken);
+    }
+}
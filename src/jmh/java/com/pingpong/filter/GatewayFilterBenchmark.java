@@ -0,0 +1,77 @@
+package com.pingpong.filter;
+
+import com.pingpong.BenchmarkFixtures;
+import com.pingpong.common.ErrorResponseWriter;
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.common.JwtUtils;
+import com.pingpong.service.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtFilter, GlobalInvalidatedTokenFilter를 mock exchange와 stub chain으로 실행한 처리량
+ *
+ * 필터는 exchange attribute에 검증 결과를 저장하므로 매 호출마다 새 exchange를 생성하며,
+ * exchange 생성 비용은 newExchange 벤치마크로 따로 측정하여 비교
+ * 무효화 토큰 조회는 Redis 없이 즉시 응답하는 stub TokenService를 사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayFilterBenchmark {
+
+    private static final GatewayFilterChain STUB_CHAIN = exchange -> Mono.empty();
+    private static final Mono<Boolean> NOT_INVALIDATED = Mono.just(false);
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private JwtFilter jwtFilter;
+    private GlobalInvalidatedTokenFilter invalidatedTokenFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        GatewayMetrics gatewayMetrics = BenchmarkFixtures.gatewayMetrics();
+        JwtUtils jwtUtils = BenchmarkFixtures.jwtUtils(cacheEnabled, gatewayMetrics);
+        TokenService tokenService = new TokenService(null, null, null, gatewayMetrics, null) {
+            @Override
+            public Mono<Boolean> isTokenInvalidated(String token) {
+                return NOT_INVALIDATED;
+            }
+        };
+
+        ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(gatewayMetrics);
+        jwtFilter = new JwtFilter(jwtUtils, gatewayMetrics, errorResponseWriter);
+        invalidatedTokenFilter = new GlobalInvalidatedTokenFilter(jwtUtils, tokenService, gatewayMetrics,
+                errorResponseWriter);
+        token = BenchmarkFixtures.token(TimeUnit.HOURS.toMillis(1));
+    }
+
+    @Benchmark
+    public MockServerWebExchange newExchange() {
+        return BenchmarkFixtures.exchange("/auth/employees", token);
+    }
+
+    @Benchmark
+    public Void jwtFilter() {
+        return jwtFilter.filter(BenchmarkFixtures.exchange("/auth/employees", token), STUB_CHAIN).block();
+    }
+
+    @Benchmark
+    public Void jwtFilterWithoutToken() {
+        return jwtFilter.filter(BenchmarkFixtures.exchange("/auth/employees", null), STUB_CHAIN).block();
+    }
+
+    @Benchmark
+    public Void invalidatedTokenFilter() {
+        return invalidatedTokenFilter.filter(BenchmarkFixtures.exchange("/core/employees", token), STUB_CHAIN).block();
+    }
+}
@@ -0,0 +1,196 @@
+package com.pingpong.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pingpong.entity.RefreshToken;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RefreshToken 저장소의 이전 방식(토큰당 명령 1회 + Jackson JSON 문자열)과
+ * batch/pipeline 방식(요청당 round-trip 1~2회 + @RedisHash와 같은 hash 형식)을 비교
+ *
+ * round-trip: 이전 방식은 batchSize 회, batch 방식은 save/find 1회, delete 2회(HGET + DEL/SREM)
+ * 이전 방식은 RefreshTokens:legacy:{token} 키를 사용하여 hash 형식 키와 겹치지 않음
+ * bytes stored: 값 크기를 setup 시 출력
+ *
+ * find는 iteration마다, delete는 호출마다 각 방식의 형식으로 토큰을 미리 저장하여 실제 값을 읽고 지우는 비용을 측정
+ * (delete는 Level.Invocation setup을 사용하므로 batchSize가 작을수록 측정 오차가 큼)
+ *
+ * 로컬 Redis가 필요 (-Dbenchmark.redis.host, -Dbenchmark.redis.port)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshTokenRepositoryBenchmark {
+
+    private static final long EXPIRATION_SECONDS = 600;
+    private static final String LEGACY_PREFIX = "RefreshTokens:legacy:";
+
+    @State(Scope.Benchmark)
+    public static class RedisState {
+
+        @Param({"1", "10", "100"})
+        int batchSize;
+
+        LettuceConnectionFactory connectionFactory;
+        RedisTemplate<String, String> redisTemplate;
+        ObjectMapper objectMapper;
+        RefreshTokenRepositoryCustomImpl repository;
+        List<RefreshToken> refreshTokens;
+        List<String> tokens;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                    System.getProperty("benchmark.redis.host", "localhost"),
+                    Integer.getInteger("benchmark.redis.port", 6379));
+            connectionFactory = new LettuceConnectionFactory(configuration);
+            connectionFactory.afterPropertiesSet();
+
+            redisTemplate = new RedisTemplate<>();
+            redisTemplate.setKeySerializer(new StringRedisSerializer());
+            redisTemplate.setValueSerializer(new StringRedisSerializer());
+            redisTemplate.setConnectionFactory(connectionFactory);
+            redisTemplate.afterPropertiesSet();
+
+            objectMapper = new ObjectMapper();
+            repository = new RefreshTokenRepositoryCustomImpl(redisTemplate,
+                    new ReactiveStringRedisTemplate(connectionFactory), EXPIRATION_SECONDS);
+
+            refreshTokens = new ArrayList<>(batchSize);
+            tokens = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                String token = UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID().toString().replace("-", "");
+                refreshTokens.add(RefreshToken.builder().token(token).uuid(UUID.randomUUID().toString()).build());
+                tokens.add(token);
+            }
+
+            RefreshToken sample = refreshTokens.get(0);
+            System.out.printf("%nvalue bytes per token: legacy json=%d, hash fields=%d%n",
+                    objectMapper.writeValueAsString(sample).length(),
+                    "_class".length() + RefreshToken.class.getName().length() + "token".length()
+                            + sample.getToken().length() + "uuid".length() + sample.getUuid().length());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            repository.deleteAllByTokenInRedis(tokens);
+            for (String token : tokens) {
+                redisTemplate.delete(LEGACY_PREFIX + token);
+            }
+            connectionFactory.destroy();
+        }
+
+        void saveLegacy() throws Exception {
+            for (RefreshToken refreshToken : refreshTokens) {
+                redisTemplate.opsForValue().set(LEGACY_PREFIX + refreshToken.getToken(),
+                        objectMapper.writeValueAsString(refreshToken), EXPIRATION_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+
+        List<RefreshToken> findLegacy() throws Exception {
+            List<RefreshToken> found = new ArrayList<>(batchSize);
+            for (String token : tokens) {
+                String value = redisTemplate.opsForValue().get(LEGACY_PREFIX + token);
+                if (value != null) {
+                    found.add(objectMapper.readValue(value, RefreshToken.class));
+                }
+            }
+            return found;
+        }
+
+        void saveBatch() {
+            repository.saveAllWithExpiration(refreshTokens);
+        }
+
+        /**
+         * 저장한 토큰이 모두 조회되는지 확인하여 빈 키를 측정하지 않도록 함
+         */
+        void verifyStored(int found) {
+            if (found != batchSize) {
+                throw new IllegalStateException("Expected " + batchSize + " stored tokens but found " + found);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LegacyStored extends RedisState {
+
+        @Setup(Level.Iteration)
+        public void store() throws Exception {
+            saveLegacy();
+            verifyStored(findLegacy().size());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BatchStored extends RedisState {
+
+        @Setup(Level.Iteration)
+        public void store() {
+            saveBatch();
+            verifyStored(repository.findAllByTokenInRedis(tokens).size());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LegacyDeletable extends RedisState {
+
+        @Setup(Level.Invocation)
+        public void store() throws Exception {
+            saveLegacy();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BatchDeletable extends RedisState {
+
+        @Setup(Level.Invocation)
+        public void store() {
+            saveBatch();
+        }
+    }
+
+    @Benchmark
+    public void legacySave(RedisState state) throws Exception {
+        state.saveLegacy();
+    }
+
+    @Benchmark
+    public void batchSave(RedisState state) {
+        state.saveBatch();
+    }
+
+    @Benchmark
+    public List<RefreshToken> legacyFind(LegacyStored state) throws Exception {
+        return state.findLegacy();
+    }
+
+    @Benchmark
+    public List<RefreshToken> batchFind(BatchStored state) {
+        return state.repository.findAllByTokenInRedis(state.tokens);
+    }
+
+    @Benchmark
+    public void legacyDelete(LegacyDeletable state) {
+        for (String token : state.tokens) {
+            state.redisTemplate.delete(LEGACY_PREFIX + token);
+        }
+    }
+
+    @Benchmark
+    public void batchDelete(BatchDeletable state) {
+        state.repository.deleteAllByTokenInRedis(state.tokens);
+    }
+}
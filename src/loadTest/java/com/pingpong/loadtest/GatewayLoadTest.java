@@ -0,0 +1,230 @@
+package com.pingpong.loadtest;
+
+import com.pingpong.ApiGatewayApplication;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.netty.handler.codec.http.HttpMethod;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 네트워크 없이 한 대의 Linux 머신에서 실행되는 gateway 부하 테스트 harness
+ *
+ * - embedded Redis, in-process Netty stub backend, SimpleDiscoveryClient(Eureka 대체)로 gateway를 기동
+ * - public / protected / expired-token / revoked-token 요청을 지정한 비율로 전송
+ * - 요청 종류별 처리량과 p50/p99/p999 지연 시간, 상태 코드 분포를 출력
+ *
+ * 실행: ./gradlew loadTest -Pduration=30 -Pconcurrency=64 -Pmix=public:40,protected:40,expired:10,revoked:10
+ */
+public final class GatewayLoadTest {
+
+    private static final String SECRET = "load-test-secret-key-load-test-secret-key-0123456789";
+
+    private GatewayLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        TrafficMix mix = TrafficMix.parse(options.getOrDefault("mix", "public:40,protected:40,expired:10,revoked:10"));
+
+        Map<TrafficMix.Kind, String> tokens = new EnumMap<>(TrafficMix.Kind.class);
+        tokens.put(TrafficMix.Kind.PROTECTED, token("load-user", TimeUnit.HOURS.toMillis(1)));
+        tokens.put(TrafficMix.Kind.EXPIRED, token("load-expired-user", -TimeUnit.MINUTES.toMillis(1)));
+        tokens.put(TrafficMix.Kind.REVOKED, token("load-revoked-user", TimeUnit.HOURS.toMillis(1)));
+        String refreshedToken = token("load-expired-user", TimeUnit.HOURS.toMillis(1));
+
+        int redisPort = freePort();
+        RedisServer redisServer = RedisServer.newRedisServer()
+                .port(redisPort)
+                .setting("bind 127.0.0.1")
+                .setting("notify-keyspace-events KA")
+                .build();
+        redisServer.start();
+
+        try (StubBackends backends = new StubBackends(refreshedToken)) {
+            seedRedis(redisPort, tokens);
+
+            ConfigurableApplicationContext gateway = startGateway(redisPort, backends);
+            try {
+                int gatewayPort = Integer.parseInt(gateway.getEnvironment().getProperty("local.server.port"));
+                HttpClient client = HttpClient.create(ConnectionProvider.create("load-test", concurrency))
+                        .baseUrl("http://127.0.0.1:" + gatewayPort);
+
+                System.out.printf("warming up for %ds%n", warmupSeconds);
+                run(client, mix, tokens, concurrency, Duration.ofSeconds(warmupSeconds));
+
+                System.out.printf("measuring for %ds with concurrency %d%n", durationSeconds, concurrency);
+                Results results = run(client, mix, tokens, concurrency, Duration.ofSeconds(durationSeconds));
+                results.print(durationSeconds);
+            } finally {
+                gateway.close();
+            }
+        } finally {
+            redisServer.stop();
+        }
+    }
+
+    private static ConfigurableApplicationContext startGateway(int redisPort, StubBackends backends) {
+        Map<String, Object> properties = new HashMap<>(backends.discoveryProperties());
+        properties.put("server.port", 0);
+        properties.put("eureka.client.enabled", false);
+        properties.put("spring.redis.host", "127.0.0.1");
+        properties.put("spring.redis.port", redisPort);
+        properties.put("jwt.key", SECRET);
+        properties.put("jwt.refresh-token-expiration-minutes", 3600);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+
+        return new SpringApplicationBuilder(ApiGatewayApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * 무효화 토큰과 expired 토큰 사용자의 RefreshToken을 미리 저장
+     * RefreshToken은 AUTH-API의 Redis repository와 같은 형식(hash와 uuid index)으로 저장
+     */
+    private static void seedRedis(int redisPort, Map<TrafficMix.Kind, String> tokens) {
+        RedisClient redisClient = RedisClient.create("redis://127.0.0.1:" + redisPort);
+        try (StatefulRedisConnection<String, String> connection = redisClient.connect()) {
+            RedisCommands<String, String> commands = connection.sync();
+            commands.set("InvalidatedTokens:" + tokens.get(TrafficMix.Kind.REVOKED), "1");
+            commands.hset("RefreshTokens:load-refresh-token", Map.of("token", "load-refresh-token",
+                    "uuid", "load-expired-user"));
+            commands.expire("RefreshTokens:load-refresh-token", 3600);
+            commands.sadd("RefreshTokens:uuid:load-expired-user", "load-refresh-token");
+        } finally {
+            redisClient.shutdown();
+        }
+    }
+
+    private static Results run(HttpClient client, TrafficMix mix, Map<TrafficMix.Kind, String> tokens,
+                               int concurrency, Duration duration) {
+        Results results = new Results();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        Flux.range(0, concurrency)
+                .flatMap(worker -> Mono.defer(() -> send(client, mix.next(), tokens, results))
+                        .repeat(() -> System.nanoTime() < deadline), concurrency)
+                .blockLast();
+        return results;
+    }
+
+    private static Mono<Integer> send(HttpClient client, TrafficMix.Kind kind, Map<TrafficMix.Kind, String> tokens,
+                                      Results results) {
+        String token = tokens.get(kind);
+        long start = System.nanoTime();
+        return client
+                .headers(headers -> {
+                    if (token != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+                    }
+                })
+                .request(HttpMethod.valueOf(kind.method.name()))
+                .uri(kind.path)
+                .responseSingle((response, body) -> body.asByteArray()
+                        .then(Mono.just(response.status().code())))
+                .doOnNext(status -> results.record(kind, status, System.nanoTime() - start))
+                .onErrorResume(e -> {
+                    results.recordError(kind, System.nanoTime() - start);
+                    return Mono.just(-1);
+                });
+    }
+
+    private static String token(String subject, long expiresInMillis) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator).replaceFirst("^--", ""), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * 요청 종류별 지연 시간 histogram과 상태 코드 집계
+     */
+    private static final class Results {
+
+        private final Map<TrafficMix.Kind, Histogram> latencies = new EnumMap<>(TrafficMix.Kind.class);
+        private final Map<TrafficMix.Kind, Map<Integer, LongAdder>> statuses = new EnumMap<>(TrafficMix.Kind.class);
+        private final Histogram total = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+
+        Results() {
+            for (TrafficMix.Kind kind : TrafficMix.Kind.values()) {
+                latencies.put(kind, new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3));
+                statuses.put(kind, new ConcurrentHashMap<>());
+            }
+        }
+
+        void record(TrafficMix.Kind kind, int status, long nanos) {
+            long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), TimeUnit.SECONDS.toMicros(60));
+            latencies.get(kind).recordValue(micros);
+            total.recordValue(micros);
+            statuses.get(kind).computeIfAbsent(status, ignored -> new LongAdder()).increment();
+        }
+
+        void recordError(TrafficMix.Kind kind, long nanos) {
+            record(kind, -1, nanos);
+        }
+
+        void print(int durationSeconds) {
+            System.out.printf("%n%-10s %10s %10s %10s %10s %10s  %s%n",
+                    "kind", "requests", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "status");
+            latencies.forEach((kind, histogram) -> printRow(kind.name().toLowerCase(), histogram,
+                    durationSeconds, statuses.get(kind).toString()));
+            printRow("total", total, durationSeconds, "");
+        }
+
+        private static void printRow(String name, Histogram histogram, int durationSeconds, String statuses) {
+            long count = histogram.getTotalCount();
+            System.out.printf("%-10s %10d %10.1f %10.2f %10.2f %10.2f  %s%n",
+                    name, count, (double) count / durationSeconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    statuses);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.pingpong.loadtest;
+
+import com.pingpong.ApiGatewayApplication;
+import redis.embedded.RedisServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gateway 기동 시간과 메모리 사용량 벤치마크
+ *
+ * - 프로필마다 gateway를 새 JVM으로 여러 번 기동하여 프로세스 시작부터 첫 routed 요청(GET /core/...)이
+ *   200으로 응답하기까지의 시간(time-to-first-routed-request)을 측정
+ * - 첫 요청 직후의 RSS(/proc/{pid}/status VmRSS)를 기록
+ * - embedded Redis와 stub backend(SimpleDiscoveryClient)를 사용하므로 네트워크 없이 실행
+ *
+ * 실행: ./gradlew startupBenchmark -Pruns=5 -Pprofiles=default,fast-start
+ * AppCDS 등 JVM 옵션 비교: -PjvmArgs="-XX:SharedArchiveFile=app.jsa -Xshare:auto" -Pclasspath=<archive를 만든 classpath>
+ */
+public final class StartupBenchmark {
+
+    private static final String SECRET = "startup-benchmark-secret-key-startup-benchmark-0123";
+    private static final String PROBE_PATH = "/core/startup-probe";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> profiles = Arrays.asList(options.getOrDefault("profiles", "default,fast-start").split(","));
+        List<String> jvmArgs = options.containsKey("jvmArgs")
+                ? Arrays.asList(options.get("jvmArgs").trim().split("\\s+")) : List.of();
+        String classpath = options.getOrDefault("classpath", System.getProperty("java.class.path"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "120")));
+
+        int redisPort = freePort();
+        RedisServer redisServer = RedisServer.newRedisServer()
+                .port(redisPort)
+                .setting("bind 127.0.0.1")
+                .setting("notify-keyspace-events KA")
+                .build();
+        redisServer.start();
+
+        try (StubBackends backends = new StubBackends("unused")) {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+            System.out.printf("%-12s %8s %8s %8s %10s%n", "profile", "min ms", "p50 ms", "max ms", "p50 RSS MB");
+            for (String profile : profiles) {
+                List<Long> startupMillis = new ArrayList<>();
+                List<Long> rssKilobytes = new ArrayList<>();
+                for (int run = 0; run < runs; run++) {
+                    Sample sample = measure(client, profile.trim(), jvmArgs, classpath, redisPort, backends, timeout);
+                    startupMillis.add(sample.startupMillis);
+                    if (sample.rssKilobytes >= 0) {
+                        rssKilobytes.add(sample.rssKilobytes);
+                    }
+                }
+                Collections.sort(startupMillis);
+                Collections.sort(rssKilobytes);
+                System.out.printf("%-12s %8d %8d %8d %10s%n", profile.trim(),
+                        startupMillis.get(0), median(startupMillis), startupMillis.get(startupMillis.size() - 1),
+                        rssKilobytes.isEmpty() ? "n/a" : String.valueOf(median(rssKilobytes) / 1024));
+            }
+        } finally {
+            redisServer.stop();
+        }
+    }
+
+    /**
+     * gateway를 새 JVM으로 기동하고 첫 routed 요청이 성공할 때까지 대기한 뒤 종료
+     */
+    private static Sample measure(HttpClient client, String profile, List<String> jvmArgs, String classpath,
+                                  int redisPort, StubBackends backends, Duration timeout) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(ApiGatewayApplication.class.getName());
+        gatewayProperties(profile, port, redisPort, backends)
+                .forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        File log = File.createTempFile("gateway-startup-" + profile + "-", ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                .start();
+        try {
+            HttpRequest probe = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + PROBE_PATH))
+                    .timeout(Duration.ofSeconds(1))
+                    .build();
+            long deadline = start + timeout.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("gateway exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("gateway did not route a request within " + timeout + ", see " + log);
+                }
+                try {
+                    if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // 아직 port가 열리지 않았거나 기동 중
+                }
+                Thread.sleep(10);
+            }
+            long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Sample sample = new Sample(startupMillis, rssKilobytes(process.pid()));
+            Files.deleteIfExists(log.toPath());
+            return sample;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Map<String, Object> gatewayProperties(String profile, int port, int redisPort,
+                                                         StubBackends backends) {
+        Map<String, Object> properties = new HashMap<>(backends.discoveryProperties());
+        if (!"default".equals(profile)) {
+            properties.put("spring.profiles.active", profile);
+        }
+        properties.put("server.port", port);
+        properties.put("eureka.client.enabled", false);
+        properties.put("spring.redis.host", "127.0.0.1");
+        properties.put("spring.redis.port", redisPort);
+        properties.put("jwt.key", SECRET);
+        properties.put("logging.level.root", "WARN");
+        return properties;
+    }
+
+    /**
+     * Linux의 /proc/{pid}/status에서 RSS를 읽음
+     * @return RSS (kB), 읽을 수 없으면 -1
+     */
+    private static long rssKilobytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // /proc이 없는 OS
+        }
+        return -1;
+    }
+
+    private static long median(List<Long> sorted) {
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator).replaceFirst("^--", ""), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    private static final class Sample {
+
+        private final long startupMillis;
+        private final long rssKilobytes;
+
+        Sample(long startupMillis, long rssKilobytes) {
+            this.startupMillis = startupMillis;
+            this.rssKilobytes = rssKilobytes;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.pingpong.loadtest;
+
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * lb:// 서비스 대신 사용하는 in-process Netty stub backend
+ *
+ * 서비스마다 임의 포트로 HTTP 서버를 띄우고, 모든 요청에 작은 JSON으로 즉시 응답
+ * POST /refresh 는 미리 발급한 토큰을 Authorization 헤더로 돌려주어 Auth 서비스의 재발급을 흉내냄
+ */
+final class StubBackends implements AutoCloseable {
+
+    static final List<String> SERVICES = List.of("AUTH-API", "CORE-API", "MAIL-API", "UTIL-API", "CHAT-API", "ALARM-API");
+
+    private static final String BODY = "{\"status\":200,\"message\":\"ok\"}";
+
+    private final Map<String, DisposableServer> servers = new LinkedHashMap<>();
+
+    StubBackends(String refreshedToken) {
+        for (String service : SERVICES) {
+            DisposableServer server = HttpServer.create()
+                    .host("127.0.0.1")
+                    .port(0)
+                    .route(routes -> routes
+                            .post("/refresh", (request, response) -> response
+                                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshedToken)
+                                    .send())
+                            .route(request -> true, (request, response) -> response
+                                    .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                                    .sendString(Mono.just(BODY))))
+                    .bindNow();
+            servers.put(service, server);
+        }
+    }
+
+    /**
+     * 서비스 id별 stub 주소를 SimpleDiscoveryClient 설정으로 반환 (Eureka 대체)
+     * @return spring.cloud.discovery.client.simple.instances.* 속성
+     */
+    Map<String, Object> discoveryProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        servers.forEach((service, server) -> properties.put(
+                "spring.cloud.discovery.client.simple.instances." + service + "[0].uri",
+                "http://127.0.0.1:" + server.port()));
+        return properties;
+    }
+
+    @Override
+    public void close() {
+        servers.values().forEach(DisposableServer::disposeNow);
+    }
+}
@@ -0,0 +1,63 @@
+package com.pingpong.loadtest;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 종류별 비율 (예: public:40,protected:40,expired:10,revoked:10)
+ */
+final class TrafficMix {
+
+    enum Kind {
+        PUBLIC(HttpMethod.GET, "/core/employees"),
+        PROTECTED(HttpMethod.GET, "/auth/employees"),
+        EXPIRED(HttpMethod.GET, "/auth/employees"),
+        REVOKED(HttpMethod.GET, "/core/employees");
+
+        final HttpMethod method;
+        final String path;
+
+        Kind(HttpMethod method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+    }
+
+    private final Kind[] kinds;
+    private final int[] cumulativeWeights;
+
+    private TrafficMix(Map<Kind, Integer> weights) {
+        kinds = weights.keySet().toArray(new Kind[0]);
+        cumulativeWeights = new int[kinds.length];
+        int sum = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            sum += weights.get(kinds[i]);
+            cumulativeWeights[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("Traffic mix must have a positive weight");
+        }
+    }
+
+    static TrafficMix parse(String spec) {
+        Map<Kind, Integer> weights = new EnumMap<>(Kind.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split(":");
+            weights.put(Kind.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return new TrafficMix(weights);
+    }
+
+    Kind next() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return kinds[i];
+            }
+        }
+        return kinds[kinds.length - 1];
+    }
+}
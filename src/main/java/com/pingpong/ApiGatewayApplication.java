@@ -4,18 +4,25 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
-import org.springframework.cloud.openfeign.EnableFeignClients;
-import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.web.reactive.config.EnableWebFlux;
 
+import java.util.Map;
+
 @ConfigurationPropertiesScan
 @EnableDiscoveryClient
-@EnableRedisRepositories
-@EnableFeignClients
 @EnableWebFlux
 @SpringBootApplication
 public class ApiGatewayApplication {
   public static void main(String[] args) {
-    SpringApplication.run(ApiGatewayApplication.class, args);
+    SpringApplication application = new SpringApplication(ApiGatewayApplication.class);
+    // 외부 설정이 없을 때의 기본값 (application.yml 등에서 덮어쓸 수 있음)
+    application.setDefaultProperties(Map.of(
+        "management.endpoints.web.exposure.include", "health,info,prometheus"));
+    ConfigurableApplicationContext context = application.run(args);
+    // AppCDS class 목록을 만드는 학습 실행(Dockerfile)은 기동이 끝나면 바로 종료
+    if (context.getEnvironment().getProperty("gateway.startup.exit-after-start", Boolean.class, false)) {
+      System.exit(SpringApplication.exit(context));
+    }
   }
 }
@@ -0,0 +1,113 @@
+package com.pingpong.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 관측된 응답 시간으로 동시 요청 한도를 조정하는 gradient 방식 concurrency limit
+ *
+ * 장기 평균 응답 시간(long RTT)과 최근 응답 시간(short RTT)의 비율(gradient)로 한도를 줄이거나 늘림
+ * - 최근 응답이 장기 평균의 tolerance 배 이상 느려지면 한도를 비율만큼 감소 (큐가 쌓이는 중)
+ * - 응답 시간이 안정적이면 sqrt(limit)만큼 여유(queue)를 두고 증가
+ * - 오류/timeout은 backoff-ratio로 즉시 감소 (AIMD의 multiplicative decrease)
+ * 요청 허용 판단은 CAS만 사용하고, 한도 계산은 응답 완료 시점에만 짧게 잠금
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double tolerance, double smoothing, double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * 현재 한도 안이면 동시 요청 수를 하나 늘림
+     * @return 허용되면 true, 한도를 넘으면 false
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 정상 응답의 응답 시간을 반영하고 동시 요청 수를 줄임
+     * @param rttNanos 응답 시간
+     */
+    public void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (longRttNanos == 0) {
+                shortRttNanos = rttNanos;
+                longRttNanos = rttNanos;
+                return;
+            }
+            shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+            // 부하가 빠진 뒤 장기 평균이 과거의 느린 값에 머물러 한도가 과하게 커지지 않도록 빠르게 따라감
+            if (longRttNanos / shortRttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            // 한도의 절반도 사용하지 않는 동안에는 한도를 늘리지 않음
+            if (newLimit > limit && inFlightAtCompletion < limit / 2) {
+                return;
+            }
+            update(limit * (1 - smoothing) + newLimit * smoothing);
+        }
+    }
+
+    /**
+     * 오류나 timeout으로 끝난 요청을 반영하고 동시 요청 수를 줄임
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            update(limit * backoffRatio);
+        }
+    }
+
+    /**
+     * 응답 시간을 알 수 없는 요청(클라이언트 취소 등)의 동시 요청 수만 줄임
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
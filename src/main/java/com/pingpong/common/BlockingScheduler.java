@@ -0,0 +1,77 @@
+package com.pingpong.common;
+
+import com.pingpong.property.BlockingSchedulerProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * blocking 작업을 Reactor Netty event loop 밖에서 실행하는 크기 제한 scheduler
+ *
+ * event loop 하나가 block 되면 그 loop의 모든 연결이 멈추므로, blocking으로 남아야 하는 호출은 이 scheduler로 옮겨 실행
+ * thread 수와 대기 작업 수에 상한이 있어 대기 작업이 queue-cap(thread마다 queue-cap / thread-cap)을 넘으면
+ * RejectedExecutionException으로 거절 (503)
+ * 대기 작업 수, 실행 중인 작업 수, 작업별 대기 시간은 gateway.blocking.* 지표로 기록
+ */
+@Component
+public class BlockingScheduler {
+
+    private final Scheduler scheduler;
+    private final GatewayMetrics gatewayMetrics;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    public BlockingScheduler(BlockingSchedulerProperties properties, GatewayMetrics gatewayMetrics) {
+        // boundedElastic의 queue 상한은 thread(worker)마다 적용되므로 전체 상한을 thread 수로 나눔
+        int queueCapPerThread = Math.max(1, properties.getQueueCap() / properties.getThreadCap());
+        this.scheduler = Schedulers.newBoundedElastic(properties.getThreadCap(), queueCapPerThread,
+                "gateway-blocking");
+        this.gatewayMetrics = gatewayMetrics;
+        gatewayMetrics.registerBlockingScheduler(queued, active);
+    }
+
+    /**
+     * blocking 작업을 scheduler에서 실행
+     * @param task 작업 이름 태그
+     * @param callable blocking 작업
+     * @return 작업 결과 (null이면 빈 Mono)
+     */
+    public <T> Mono<T> call(String task, Callable<T> callable) {
+        return Mono.deferContextual(context -> {
+            String routeId = context.getOrDefault(GatewayMetrics.ROUTE_ID_CONTEXT_KEY, GatewayMetrics.UNKNOWN_ROUTE);
+            long submittedAt = System.nanoTime();
+            AtomicBoolean started = new AtomicBoolean();
+            queued.incrementAndGet();
+            return Mono.fromCallable(() -> {
+                        if (started.compareAndSet(false, true)) {
+                            queued.decrementAndGet();
+                        }
+                        gatewayMetrics.recordBlockingWait(task, routeId, System.nanoTime() - submittedAt);
+                        active.incrementAndGet();
+                        try {
+                            return callable.call();
+                        } finally {
+                            active.decrementAndGet();
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .doFinally(signal -> {
+                        // 실행 전에 취소 / 거절된 작업
+                        if (started.compareAndSet(false, true)) {
+                            queued.decrementAndGet();
+                        }
+                    });
+        });
+    }
+
+    @PreDestroy
+    void dispose() {
+        scheduler.dispose();
+    }
+}
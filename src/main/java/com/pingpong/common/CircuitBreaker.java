@@ -0,0 +1,135 @@
+package com.pingpong.common;
+
+/**
+ * 최근 호출 결과의 실패율로 downstream 호출을 차단하는 circuit breaker
+ *
+ * - CLOSED: 최근 sliding-window-size 건 중 실패율이 threshold 이상이면 OPEN
+ * - OPEN: open-duration 동안 모든 호출을 즉시 거절한 뒤 HALF_OPEN
+ * - HALF_OPEN: half-open-calls 건의 시험 호출만 허용하여 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * CLOSED 상태의 허용 판단은 volatile 읽기만 수행
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final boolean[] window;
+
+    private volatile State state = State.CLOSED;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private long openUntilNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    /**
+     * @param failureRateThreshold OPEN으로 전환할 실패율 (%)
+     * @param slidingWindowSize 실패율을 계산할 최근 호출 수
+     * @param minimumCalls 실패율을 계산하기 위한 최소 호출 수
+     * @param openDurationNanos OPEN 상태 유지 시간
+     * @param halfOpenCalls HALF_OPEN 상태에서 허용할 시험 호출 수
+     */
+    public CircuitBreaker(int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                          long openDurationNanos, int halfOpenCalls) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, slidingWindowSize)];
+        this.minimumCalls = Math.min(Math.max(1, minimumCalls), window.length);
+        this.openDurationNanos = openDurationNanos;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * 호출을 허용할 수 있는지 확인 (HALF_OPEN이면 시험 호출 permit을 소비)
+     * @param nowNanos 현재 시각 (System.nanoTime)
+     * @return 허용되면 true
+     */
+    public boolean tryAcquire(long nowNanos) {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (nowNanos - openUntilNanos < 0) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits == 0) {
+                    return false;
+                }
+                halfOpenPermits--;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 허용된 호출의 결과를 반영
+     * @param success 성공 여부
+     * @param nowNanos 현재 시각 (System.nanoTime)
+     */
+    public synchronized void onResult(boolean success, long nowNanos) {
+        if (state == State.HALF_OPEN) {
+            if (!success) {
+                open(nowNanos);
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (windowCalls == window.length) {
+            if (!window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = success;
+        if (!success) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+
+        if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+            open(nowNanos);
+        }
+    }
+
+    /**
+     * 결과를 알 수 없이 끝난 호출(클라이언트 취소 등)의 시험 호출 permit을 반환
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls - halfOpenSuccesses) {
+            halfOpenPermits++;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openUntilNanos = nowNanos + openDurationNanos;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+}
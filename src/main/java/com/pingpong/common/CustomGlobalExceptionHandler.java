@@ -1,59 +1,53 @@
 package com.pingpong.common;
 
+import com.pingpong.exception.BusinessLogicException;
 import com.pingpong.exception.ExceptionCode;
 import io.jsonwebtoken.JwtException;
-import org.springframework.boot.autoconfigure.web.WebProperties;
-import org.springframework.boot.autoconfigure.web.reactive.error.AbstractErrorWebExceptionHandler;
-import org.springframework.boot.web.reactive.error.ErrorAttributes;
-import org.springframework.context.ApplicationContext;
-import org.springframework.http.MediaType;
-import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.server.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.net.ConnectException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 /**
- * API Gateway에서 발생하는 토큰 관련 예외를 처리
+ * API Gateway에서 발생하는 토큰 관련 예외와 downstream 오류를 처리
  * 기존 ExceptionCode enum을 사용하여 상태 코드와 메시지를 정의
+ * 응답은 ErrorResponseWriter의 미리 직렬화한 body로 작성하여 예외마다 Map 생성과 Jackson 직렬화를 하지 않음
  */
 @Component
-public class CustomGlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
+public class CustomGlobalExceptionHandler implements ErrorWebExceptionHandler {
 
-    public CustomGlobalExceptionHandler(ErrorAttributes errorAttributes,
-                                        ApplicationContext applicationContext,
-                                        ServerCodecConfigurer serverCodecConfigurer) {
-        super(errorAttributes, new WebProperties.Resources(), applicationContext);
-        super.setMessageWriters(serverCodecConfigurer.getWriters());
-        super.setMessageReaders(serverCodecConfigurer.getReaders());
-    }
+    private final ErrorResponseWriter errorResponseWriter;
 
-    @Override
-    protected RouterFunction<ServerResponse> getRoutingFunction(ErrorAttributes errorAttributes) {
-        return RouterFunctions.route(RequestPredicates.all(), this::renderErrorResponse);
+    public CustomGlobalExceptionHandler(ErrorResponseWriter errorResponseWriter) {
+        this.errorResponseWriter = errorResponseWriter;
     }
 
     /**
      * 에러 응답 시 status와 message를 ExceptionCode enum을 기반으로 반환
+     * 이미 응답이 commit 된 경우에는 응답을 바꿀 수 없으므로 예외를 그대로 전달
      *
-     * @param request 서버 Request
-     * @return Mono<ServerResponse> 에러 응답
+     * @param exchange 현재의 서버 교환
+     * @param throwable 발생한 예외
+     * @return Mono<Void> 에러 응답
      */
-    private Mono<ServerResponse> renderErrorResponse(ServerRequest request) {
-        Throwable error = getError(request);
-        ExceptionCode exceptionCode = mapToExceptionCode(error);
-
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("status", exceptionCode.getStatusCode());
-        responseBody.put("message", exceptionCode.getStatusDescription());
-
-        return ServerResponse.status(exceptionCode.getStatusCode())
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromValue(responseBody));
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable throwable) {
+        if (exchange.getResponse().isCommitted()) {
+            return Mono.error(throwable);
+        }
+        if (throwable instanceof ResponseStatusException
+                && ((ResponseStatusException) throwable).getRawStatusCode() < 500) {
+            // 경로 없음(404), 허용되지 않은 method(405) 등은 토큰 오류가 아니므로 status만 그대로 응답
+            exchange.getResponse().setRawStatusCode(((ResponseStatusException) throwable).getRawStatusCode());
+            return exchange.getResponse().setComplete();
+        }
+        return errorResponseWriter.write(exchange, mapToExceptionCode(throwable));
     }
 
     /**
@@ -62,7 +56,12 @@ public class CustomGlobalExceptionHandler extends AbstractErrorWebExceptionHandl
      * @return ExceptionCode 매핑된 예외 코드
      */
     private ExceptionCode mapToExceptionCode(Throwable throwable) {
-        if (throwable instanceof IllegalArgumentException) {
+        if (throwable instanceof BusinessLogicException) {
+            return ((BusinessLogicException) throwable).getExceptionCode();
+        } else if (throwable instanceof RejectedExecutionException) {
+            // BlockingScheduler의 대기 작업 한도 초과
+            return ExceptionCode.SERVICE_OVERLOADED;
+        } else if (throwable instanceof IllegalArgumentException) {
             return ExceptionCode.TOKEN_NOT_CONSISTED_PROPERLY;
         } else if (throwable instanceof AuthenticationException) {
             return ExceptionCode.TOKEN_NOT_EXIST;
@@ -70,9 +69,20 @@ public class CustomGlobalExceptionHandler extends AbstractErrorWebExceptionHandl
             return ExceptionCode.TOKEN_NOT_AUTHENTICATED;
         } else if (throwable instanceof JwtException) {
             return ExceptionCode.TOKEN_EXPIRED;
+        } else if (throwable instanceof ResponseStatusException) {
+            // gateway의 downstream 오류 (인스턴스 없음 503, 응답 시간 초과 504 등)
+            int status = ((ResponseStatusException) throwable).getRawStatusCode();
+            if (status == 503) {
+                return ExceptionCode.SERVICE_UNAVAILABLE;
+            }
+            return status == 504 ? ExceptionCode.GATEWAY_TIMEOUT : ExceptionCode.BAD_GATEWAY;
+        } else if (throwable instanceof ConnectException) {
+            return ExceptionCode.BAD_GATEWAY;
+        } else if (throwable instanceof TimeoutException) {
+            return ExceptionCode.GATEWAY_TIMEOUT;
         } else {
-            // 기본적으로 토큰이 올바르게 구성되지 않은 것으로 처리
-            return ExceptionCode.TOKEN_NOT_CONSISTED_PROPERLY;
+            // 토큰과 관계없는 예외는 gateway 내부 오류로 처리
+            return ExceptionCode.INTERNAL_SERVER_ERROR;
         }
     }
 }
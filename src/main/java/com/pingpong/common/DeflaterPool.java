@@ -0,0 +1,44 @@
+package com.pingpong.common;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * 재사용 가능한 Deflater(native zlib stream) pool
+ *
+ * Deflater 생성과 해제는 native 메모리 할당을 동반하므로 응답마다 만들지 않고 reset 하여 재사용
+ * pool이 비어 있으면 새로 만들고, 가득 차 있으면 반환된 Deflater를 해제
+ */
+public final class DeflaterPool {
+
+    private final int level;
+    private final BlockingQueue<Deflater> idle;
+
+    /**
+     * @param level 압축 수준 (1~9)
+     * @param maxIdle 보관할 최대 Deflater 수
+     */
+    public DeflaterPool(int level, int maxIdle) {
+        this.level = level;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, maxIdle));
+    }
+
+    /**
+     * gzip body용 Deflater (header/trailer 없는 raw deflate) 대여
+     */
+    public Deflater borrow() {
+        Deflater deflater = idle.poll();
+        return deflater != null ? deflater : new Deflater(level, true);
+    }
+
+    /**
+     * 사용한 Deflater 반환
+     */
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (!idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+}
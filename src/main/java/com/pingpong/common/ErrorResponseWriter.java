@@ -0,0 +1,65 @@
+package com.pingpong.common;
+
+import com.pingpong.exception.ExceptionCode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 요청 거절 응답을 작성하는 컴포넌트
+ *
+ * ExceptionCode 별 {"status":..., "message":...} JSON body를 미리 직렬화해 두고,
+ * 필터와 예외 처리기가 예외 생성이나 Jackson 직렬화 없이 같은 status / body로 응답하도록 함
+ */
+@Component
+public class ErrorResponseWriter {
+
+    private static final Map<ExceptionCode, byte[]> BODIES = new EnumMap<>(ExceptionCode.class);
+
+    static {
+        for (ExceptionCode exceptionCode : ExceptionCode.values()) {
+            BODIES.put(exceptionCode, ("{\"status\":" + exceptionCode.getStatusCode()
+                    + ",\"message\":\"" + escape(exceptionCode.getStatusDescription()) + "\"}")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private final GatewayMetrics gatewayMetrics;
+
+    public ErrorResponseWriter(GatewayMetrics gatewayMetrics) {
+        this.gatewayMetrics = gatewayMetrics;
+    }
+
+    /**
+     * 거절을 기록하고 ExceptionCode의 status와 미리 직렬화한 body로 응답
+     * 이미 응답이 commit 된 경우 거절만 기록하고 응답은 그대로 둠
+     * @param exchange 현재의 서버 교환
+     * @param exceptionCode 거절 사유
+     * @return 응답 작성 결과
+     */
+    public Mono<Void> write(ServerWebExchange exchange, ExceptionCode exceptionCode) {
+        gatewayMetrics.recordRejection(exchange, exceptionCode);
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+
+        byte[] body = BODIES.get(exceptionCode);
+        response.setRawStatusCode(exceptionCode.getStatusCode());
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
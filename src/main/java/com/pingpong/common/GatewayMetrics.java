@@ -0,0 +1,322 @@
+package com.pingpong.common;
+
+import com.pingpong.exception.ExceptionCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Gateway 요청 경로(hot path)의 지표를 Micrometer로 기록하는 컴포넌트
+ *
+ * - gateway.filter: 필터별 처리 시간 (다음 필터로 넘기기까지 또는 거절 응답까지)
+ * - gateway.jwt.verify: JWT 검증 시간과 결과(valid, expired, invalid)
+ * - gateway.redis.lookup: 무효화 토큰 / RefreshToken 조회 시간과 결과
+ * - gateway.auth.refresh: Auth 서비스 재발급 호출 시간과 결과
+ * - gateway.rejections: ExceptionCode 별 거절 횟수
+ * - gateway.downstream.limit / inflight / circuit.state: 서비스별 동시 요청 한도, 처리 중인 요청 수, circuit breaker 상태
+ * - gateway.hedge.requests / gateway.retry-budget.balance: hedged request 결과(primary, hedge, budget-exhausted)와 남은 retry budget
+ * - gateway.compression.bytes / gateway.compression.cpu: 압축 전후 바이트 수(direction: in, out)와 압축에 쓴 CPU 시간
+ * - gateway.connections.open / gateway.connections.frames: route와 연결 종류(websocket, sse)별 장기 연결 수와 전달한 frame 수
+ * - gateway.response-cache.requests: 응답 캐시 결과(hit, miss, not-modified, bypass) 별 요청 수
+ * - gateway.blocking.queued / active / wait: blocking 작업 scheduler의 대기 작업 수, 실행 중인 작업 수, 작업별 대기 시간
+ *
+ * 모든 지표는 route 태그를 가지며, 필터 밖(서비스 계층)에서는 Reactor Context로 route id를 전달받음
+ * 시간 지표는 percentile histogram으로 노출하여 Prometheus에서 집계
+ * meter는 이름과 태그 조합마다 한 번만 등록하고 map에 보관하여 요청마다 builder 생성과 registry 조회를 하지 않음
+ */
+@Component
+public class GatewayMetrics {
+
+    public static final String ROUTE_ID_CONTEXT_KEY = GatewayMetrics.class.getName() + ".routeId";
+    public static final String UNKNOWN_ROUTE = "none";
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(10_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicInteger> openConnections = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public GatewayMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 현재 요청이 매칭된 route id
+     * @param exchange 현재의 서버 교환
+     * @return route id, 매칭 전이면 "none"
+     */
+    public static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : UNKNOWN_ROUTE;
+    }
+
+    /**
+     * 필터 처리 시간을 기록하며 필터를 실행
+     * 다음 필터가 호출되는 시점(또는 필터가 직접 응답을 끝낸 시점)까지를 측정하여 downstream 시간은 제외
+     * 이후 서비스 계층에서 사용할 수 있도록 route id를 Reactor Context에 넣음
+     * @param filterName 필터 이름 태그
+     * @param exchange 현재의 서버 교환
+     * @param chain 필터 체인
+     * @param filter 측정할 필터 로직
+     * @return 필터 실행 결과
+     */
+    public Mono<Void> timeFilter(String filterName, ServerWebExchange exchange, GatewayFilterChain chain, GatewayFilter filter) {
+        String routeId = routeId(exchange);
+        long start = System.nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean();
+        Runnable record = () -> {
+            if (recorded.compareAndSet(false, true)) {
+                timer("gateway.filter", "filter", filterName, routeId)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+
+        GatewayFilterChain timedChain = next -> {
+            record.run();
+            return chain.filter(next);
+        };
+        return filter.filter(exchange, timedChain)
+                .doFinally(signal -> record.run())
+                .contextWrite(Context.of(ROUTE_ID_CONTEXT_KEY, routeId));
+    }
+
+    /**
+     * JWT 검증 시간과 결과를 기록
+     * @param routeId route id
+     * @param outcome 검증 결과
+     * @param nanos 소요 시간
+     */
+    public void recordJwtVerify(String routeId, String outcome, long nanos) {
+        timer("gateway.jwt.verify", "outcome", outcome, routeId).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Redis 조회 시간과 결과를 기록하며 조회를 실행
+     * @param lookup 조회 종류 태그 (invalidated-token, refresh-token)
+     * @param source 조회 Mono
+     * @return 조회 결과
+     */
+    public <T> Mono<T> timeRedisLookup(String lookup, Mono<T> source) {
+        return timeMono("gateway.redis.lookup", "lookup", lookup, source);
+    }
+
+    /**
+     * Auth 서비스 재발급 호출 시간과 결과를 기록하며 호출을 실행
+     * @param source 호출 Mono
+     * @return 호출 결과
+     */
+    public <T> Mono<T> timeRefreshCall(Mono<T> source) {
+        return timeMono("gateway.auth.refresh", "call", "refresh", source);
+    }
+
+    /**
+     * 요청 거절을 ExceptionCode 별로 기록
+     * @param exchange 현재의 서버 교환
+     * @param exceptionCode 거절 사유
+     */
+    public void recordRejection(ServerWebExchange exchange, ExceptionCode exceptionCode) {
+        String routeId = routeId(exchange);
+        rejections.computeIfAbsent(routeId + '|' + exceptionCode.name(), key -> Counter.builder("gateway.rejections")
+                        .tag("code", exceptionCode.name())
+                        .tag("status", String.valueOf(exceptionCode.getStatusCode()))
+                        .tag("route", routeId)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * downstream 서비스의 동시 요청 한도, 처리 중인 요청 수, circuit breaker 상태(0: closed, 1: half-open, 2: open)를 등록
+     * @param service 서비스 id (예: MAIL-API)
+     * @param limit 서비스의 concurrency limit
+     * @param breaker 서비스의 circuit breaker
+     */
+    public void registerDownstream(String service, AdaptiveConcurrencyLimit limit, CircuitBreaker breaker) {
+        Gauge.builder("gateway.downstream.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("service", service)
+                .register(registry);
+        Gauge.builder("gateway.downstream.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("service", service)
+                .register(registry);
+        Gauge.builder("gateway.downstream.circuit.state", breaker, b -> b.getState().ordinal())
+                .tag("service", service)
+                .register(registry);
+    }
+
+    /**
+     * 남은 retry budget(추가 요청 가능 수)을 등록
+     * @param retryBudget 전역 retry budget
+     */
+    public void registerRetryBudget(RetryBudget retryBudget) {
+        Gauge.builder("gateway.retry-budget.balance", retryBudget, RetryBudget::getBalance)
+                .register(registry);
+    }
+
+    /**
+     * hedged request 결과를 기록
+     * @param exchange 현재의 서버 교환
+     * @param outcome 결과 (primary: 첫 요청 응답 사용, hedge: 두 번째 요청 응답 사용, budget-exhausted: budget 부족으로 생략)
+     */
+    public void recordHedge(ServerWebExchange exchange, String outcome) {
+        counter("gateway.hedge.requests", "outcome", outcome, routeId(exchange)).increment();
+    }
+
+    /**
+     * 응답 압축 결과를 기록 (절약된 바이트 = in - out)
+     * @param exchange 현재의 서버 교환
+     * @param bytesIn 압축 전 바이트 수
+     * @param bytesOut 압축 후 바이트 수
+     * @param cpuNanos 압축에 사용한 시간
+     */
+    public void recordCompression(ServerWebExchange exchange, long bytesIn, long bytesOut, long cpuNanos) {
+        String routeId = routeId(exchange);
+        counter("gateway.compression.bytes", "direction", "in", routeId).increment(bytesIn);
+        counter("gateway.compression.bytes", "direction", "out", routeId).increment(bytesOut);
+        timer("gateway.compression.cpu", "encoding", "gzip", routeId).record(cpuNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 열려 있는 장기 연결 수 (gauge가 참조하는 값을 반환하며, 연결 시작/종료 시 증감)
+     * @param routeId route id
+     * @param type 연결 종류 (websocket, sse)
+     * @return route와 연결 종류별 연결 수
+     */
+    public AtomicInteger openConnections(String routeId, String type) {
+        return openConnections.computeIfAbsent(routeId + '|' + type, key -> registry.gauge("gateway.connections.open",
+                Tags.of("route", routeId, "type", type), new AtomicInteger()));
+    }
+
+    /**
+     * 장기 연결로 전달한 frame(WebSocket message, SSE chunk) 수 counter
+     * @param routeId route id
+     * @param type 연결 종류 (websocket, sse)
+     * @param direction 방향 (inbound: 클라이언트 → 서비스, outbound: 서비스 → 클라이언트)
+     * @return counter (연결마다 한 번 조회하여 재사용)
+     */
+    public Counter connectionFrames(String routeId, String type, String direction) {
+        String key = "gateway.connections.frames|" + type + '|' + direction + '|' + routeId;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        return counters.computeIfAbsent(key, ignored -> Counter.builder("gateway.connections.frames")
+                .tag("route", routeId)
+                .tag("type", type)
+                .tag("direction", direction)
+                .register(registry));
+    }
+
+    /**
+     * 응답 캐시 조회 결과를 기록
+     * @param exchange 현재의 서버 교환
+     * @param outcome 조회 결과 (hit, miss, not-modified, bypass)
+     */
+    public void recordResponseCache(ServerWebExchange exchange, String outcome) {
+        counter("gateway.response-cache.requests", "outcome", outcome, routeId(exchange)).increment();
+    }
+
+    /**
+     * blocking 작업 scheduler의 대기 작업 수와 실행 중인 작업 수를 등록
+     * @param queued 실행을 기다리는 작업 수
+     * @param active 실행 중인 작업 수
+     */
+    public void registerBlockingScheduler(AtomicInteger queued, AtomicInteger active) {
+        Gauge.builder("gateway.blocking.queued", queued, AtomicInteger::get)
+                .register(registry);
+        Gauge.builder("gateway.blocking.active", active, AtomicInteger::get)
+                .register(registry);
+    }
+
+    /**
+     * blocking 작업이 scheduler에 제출된 뒤 실행되기까지 기다린 시간을 기록
+     * @param task 작업 이름 태그
+     * @param routeId route id
+     * @param nanos 대기 시간
+     */
+    public void recordBlockingWait(String task, String routeId, long nanos) {
+        timer("gateway.blocking.wait", "task", task, routeId).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private <T> Mono<T> timeMono(String name, String tagKey, String tagValue, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            String routeId = context.getOrDefault(ROUTE_ID_CONTEXT_KEY, UNKNOWN_ROUTE);
+            long start = System.nanoTime();
+            return source.doFinally(signal -> timer(name, tagKey, tagValue, outcome(signal), routeId)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private Timer timer(String name, String tagKey, String tagValue, String routeId) {
+        return timer(name, tagKey, tagValue, null, routeId);
+    }
+
+    /**
+     * 이름과 태그 조합의 timer를 반환 (처음 사용할 때 한 번만 등록)
+     * @param outcome outcome 태그, 없으면 null
+     */
+    private Timer timer(String name, String tagKey, String tagValue, String outcome, String routeId) {
+        String key = name + '|' + tagValue + '|' + outcome + '|' + routeId;
+        Timer timer = timers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(key, ignored -> {
+            Timer.Builder builder = Timer.builder(name).tag(tagKey, tagValue);
+            if (outcome != null) {
+                builder.tag("outcome", outcome);
+            }
+            return builder.tag("route", routeId)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * 이름과 태그 조합의 counter를 반환 (처음 사용할 때 한 번만 등록)
+     */
+    private Counter counter(String name, String tagKey, String tagValue, String routeId) {
+        String key = name + '|' + tagValue + '|' + routeId;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        return counters.computeIfAbsent(key, ignored -> Counter.builder(name)
+                .tag(tagKey, tagValue)
+                .tag("route", routeId)
+                .register(registry));
+    }
+
+    private static String outcome(SignalType signal) {
+        switch (signal) {
+            case ON_COMPLETE:
+                return "success";
+            case ON_ERROR:
+                return "error";
+            default:
+                return "cancelled";
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.pingpong.common;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
@@ -21,28 +24,89 @@ import java.util.Date;
 public class JwtUtils {
 
     private final Key key;
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final GatewayMetrics gatewayMetrics;
 
     /**
-     * JWT 서명에 사용될 키를 초기화
+     * JWT 서명에 사용될 키와 재사용할 parser를 초기화
      * @param secretKey application.yml 에서 주입되는 JWT secret key
+     * @param verifiedTokenCache 검증된 토큰 캐시
+     * @param gatewayMetrics 검증 시간/결과 기록
      */
-    public JwtUtils(@Value("${jwt.key}") String secretKey) {
+    public JwtUtils(@Value("${jwt.key}") String secretKey, VerifiedTokenCache verifiedTokenCache,
+                    GatewayMetrics gatewayMetrics) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.gatewayMetrics = gatewayMetrics;
         String base64EncodedSecretKey = Encoders.BASE64.encode(secretKey.getBytes(StandardCharsets.UTF_8));
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64EncodedSecretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     /**
-     * JWT 토큰 유효성 검사
+     * JWT 토큰의 서명을 한 번 검증하고 결과를 VerifiedToken으로 반환
+     * 만료된 토큰은 서명이 유효한 경우 claims를 보존한 채 expired 상태로 반환
+     * 이전에 검증된 토큰이 캐시에 있으면 서명 검증을 생략
      * @param token 검증할 JWT 토큰
-     * @return 토큰이 유효하면 true, 아니면 false 반환
+     * @return 검증 결과
      */
-    public boolean validateToken(String token) {
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            VerifiedToken verified = VerifiedToken.valid(token, parser.parseClaimsJws(token).getBody());
+            verifiedTokenCache.put(verified);
+            return verified;
+        } catch (ExpiredJwtException e) {
+            return VerifiedToken.expired(token, e.getClaims());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return VerifiedToken.invalid(token);
+        }
+    }
+
+    /**
+     * 현재 요청에서 이미 검증된 토큰이 있으면 재사용하고, 없으면 검증 후 exchange attribute에 저장
+     * 재발급 등으로 Authorization 헤더의 토큰이 바뀐 경우 새 토큰을 다시 검증
+     * @param exchange 현재의 서버 교환
+     * @param token 검증할 JWT 토큰
+     * @return 검증 결과
+     */
+    public VerifiedToken resolve(ServerWebExchange exchange, String token) {
+        VerifiedToken verified = exchange.getAttribute(VerifiedToken.ATTRIBUTE);
+        if (verified != null && verified.getToken().equals(token)) {
+            return verified;
+        }
+        long start = System.nanoTime();
+        verified = verify(token);
+        gatewayMetrics.recordJwtVerify(GatewayMetrics.routeId(exchange), outcome(verified), System.nanoTime() - start);
+        exchange.getAttributes().put(VerifiedToken.ATTRIBUTE, verified);
+        return verified;
+    }
+
+    private static String outcome(VerifiedToken verified) {
+        if (!verified.isSigned()) {
+            return "invalid";
         }
+        return verified.isExpired() ? "expired" : "valid";
+    }
+
+    /**
+     * 무효화된 토큰의 캐시된 검증 결과를 제거
+     * @param token 무효화된 JWT 토큰
+     */
+    public void evict(String token) {
+        verifiedTokenCache.evict(token);
+    }
+
+    /**
+     * JWT 토큰 유효성 검사
+     * @param token 검증할 JWT 토큰
+     * @return 토큰이 유효하면 true, 아니면 false 반환
+     */
+    public boolean validateToken(String token) {
+        return verify(token).isUsable();
     }
 
     /**
@@ -51,15 +115,8 @@ public class JwtUtils {
      * @return 토큰의 Claims / 토큰이 유효하지 않으면 null 반환
      */
     public Claims getClaims(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-        } catch (JwtException | IllegalArgumentException e) {
-            return null;
-        }
+        VerifiedToken verified = verify(token);
+        return verified.isUsable() ? verified.getClaims() : null;
     }
 
     /**
@@ -73,13 +130,12 @@ public class JwtUtils {
     }
 
     /**
-     * JWT token에서 username 추출
+     * JWT token에서 만료 시간 추출
      * @param token JWT token
-     * @return 토큰에서 추출한 사용자 이름. 토큰이 유효하지 않으면 null 반환
+     * @return 토큰의 만료 시간. 토큰이 유효하지 않으면 null 반환
      */
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims != null ? claims.getExpiration() : null;
+        return verify(token).getExpiration();
     }
 
     /**
@@ -88,8 +144,7 @@ public class JwtUtils {
      * @return 토큰이 만료되었으면 true, 아니면 false 반환
      */
     public boolean isTokenExpired(String token) {
-        Date expiration = getExpirationDateFromToken(token);
-        return expiration != null && expiration.before(new Date());
+        return verify(token).isExpired();
     }
 
     /**
@@ -98,6 +153,6 @@ public class JwtUtils {
      * @return 토큰이 유효하지 않거나 만료되었으면 true, 유효하면 false 반환
      */
     public boolean getValidation(String token) {
-        return !validateToken(token) || isTokenExpired(token);
+        return !verify(token).isUsable();
     }
 }
@@ -0,0 +1,58 @@
+package com.pingpong.common;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 응답 시간 sample로 분위수(예: p95)를 추정
+ *
+ * 최근 sample-size 건을 ring buffer에 보관하고, recompute-interval 건마다 정렬하여 분위수를 다시 계산
+ * 조회는 마지막 계산값(volatile)만 읽으므로 요청마다 정렬하거나 객체를 생성하지 않음
+ */
+public final class LatencyQuantile {
+
+    private final double quantile;
+    private final int minSamples;
+    private final int recomputeInterval;
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+
+    private volatile long valueNanos = -1;
+
+    /**
+     * @param quantile 추정할 분위수 (0.95 = p95)
+     * @param sampleSize 보관할 최근 sample 수
+     * @param minSamples 추정값을 사용하기 위한 최소 sample 수
+     */
+    public LatencyQuantile(double quantile, int sampleSize, int minSamples) {
+        this.quantile = quantile;
+        this.samples = new AtomicLongArray(Math.max(1, sampleSize));
+        this.minSamples = Math.min(Math.max(1, minSamples), samples.length());
+        this.recomputeInterval = Math.max(1, samples.length() / 4);
+    }
+
+    public void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % samples.length()), nanos);
+        if (n + 1 >= minSamples && (n + 1) % recomputeInterval == 0) {
+            recompute(Math.min(n + 1, samples.length()));
+        }
+    }
+
+    /**
+     * @return 추정된 분위수, sample이 부족하면 -1
+     */
+    public long getNanos() {
+        return valueNanos;
+    }
+
+    private void recompute(long size) {
+        long[] sorted = new long[(int) size];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        valueNanos = sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,82 @@
+package com.pingpong.common;
+
+import java.util.Arrays;
+
+/**
+ * 요청 경로의 첫 번째 segment로 값을 찾는 문자 단위 prefix trie
+ *
+ * "/core/employees" 에서 "core"를 substring/split 없이 문자 단위로 탐색하므로 조회 시 객체를 생성하지 않음
+ * 등록은 애플리케이션 시작 시에만 수행하고, 이후에는 읽기 전용으로 사용
+ * @param <T> segment에 매핑되는 값
+ */
+public final class PathSegmentTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * segment에 값을 등록
+     * @param segment '/' 를 포함하지 않는 첫 번째 경로 segment
+     * @param value 매핑할 값
+     */
+    public void put(String segment, T value) {
+        if (segment.isEmpty() || segment.indexOf('/') >= 0) {
+            throw new IllegalArgumentException("Invalid path segment: " + segment);
+        }
+        Node<T> node = root;
+        for (int i = 0; i < segment.length(); i++) {
+            node = node.childOrCreate(segment.charAt(i));
+        }
+        node.value = value;
+    }
+
+    /**
+     * 경로의 첫 번째 segment에 매핑된 값을 조회
+     * @param path '/' 로 시작하는 요청 경로
+     * @return 매핑된 값, 없으면 null
+     */
+    public T match(String path) {
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+        Node<T> node = root;
+        for (int i = 1; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '/') {
+                return node.value;
+            }
+            node = node.child(c);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node.value;
+    }
+
+    private static final class Node<T> {
+        private char[] keys = new char[0];
+        @SuppressWarnings("unchecked")
+        private Node<T>[] children = new Node[0];
+        private T value;
+
+        private Node<T> child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node<T> childOrCreate(char c) {
+            Node<T> child = child(c);
+            if (child == null) {
+                child = new Node<>();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = c;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
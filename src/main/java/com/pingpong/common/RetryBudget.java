@@ -0,0 +1,55 @@
+package com.pingpong.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전체 요청 수에 비례하여 추가 요청(retry, hedge)을 허용하는 retry budget
+ *
+ * 요청 하나마다 ratio만큼 적립하고, 추가 요청 하나에 1만큼 소비
+ * 예) ratio 0.1이면 추가 요청은 원래 요청의 최대 10%로 제한되어 장애 시 재시도가 부하를 증폭시키지 않음
+ * 적립량은 max-balance를 넘지 않아 한가한 시간에 모아둔 budget을 한 번에 쏟아내지 않음
+ */
+public final class RetryBudget {
+
+    private static final long UNIT = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    /**
+     * @param ratio 요청 하나당 적립되는 추가 요청 수 (0.1 = 10%)
+     * @param maxBalance 최대 적립 가능한 추가 요청 수
+     */
+    public RetryBudget(double ratio, long maxBalance) {
+        this.depositPerRequest = Math.round(ratio * UNIT);
+        this.maxBalance = maxBalance * UNIT;
+    }
+
+    /**
+     * 원래 요청 하나를 적립
+     */
+    public void deposit() {
+        balance.accumulateAndGet(depositPerRequest, (current, delta) -> Math.min(maxBalance, current + delta));
+    }
+
+    /**
+     * 추가 요청 하나를 보낼 budget이 있으면 소비
+     * @return 보낼 수 있으면 true
+     */
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    public double getBalance() {
+        return (double) balance.get() / UNIT;
+    }
+}
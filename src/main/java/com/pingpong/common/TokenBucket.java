@@ -0,0 +1,65 @@
+package com.pingpong.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * lock-free token bucket (GCRA, generic cell rate algorithm)
+ *
+ * 보충 간격(interval)과 허용 burst만으로 상태를 하나의 long(이론적 도착 시각, TAT)에 저장하고 CAS로 갱신
+ * 요청마다 객체를 생성하지 않음
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    // System.nanoTime()은 음수일 수 있으므로 어떤 시각보다도 이전 값으로 시작 (처음에는 bucket이 가득 찬 상태)
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE / 2);
+    private final AtomicLong consumedSinceSync = new AtomicLong();
+
+    /**
+     * @param capacity 순간적으로 허용하는 최대 요청 수
+     * @param refillPerSecond 초당 보충되는 요청 수
+     */
+    public TokenBucket(long capacity, double refillPerSecond) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1L, capacity);
+    }
+
+    /**
+     * 요청 하나를 허용할 수 있으면 토큰을 소비
+     * @param nowNanos 현재 시각 (System.nanoTime)
+     * @return 허용되면 0, 아니면 다시 시도할 수 있을 때까지 남은 nanos
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = Math.max(tat, nowNanos - burstNanos) + intervalNanos;
+            long waitNanos = newTat - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                consumedSinceSync.incrementAndGet();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 다른 노드에서 소비된 요청 수만큼 남은 토큰을 차감
+     * @param requests 차감할 요청 수
+     * @param nowNanos 현재 시각 (System.nanoTime)
+     */
+    public void penalize(long requests, long nowNanos) {
+        long penalty = requests * intervalNanos;
+        theoreticalArrival.accumulateAndGet(penalty,
+                (tat, delta) -> Math.min(Math.max(tat, nowNanos - burstNanos) + delta, nowNanos + burstNanos));
+    }
+
+    /**
+     * 마지막 동기화 이후 이 노드에서 허용한 요청 수를 반환하고 0으로 초기화
+     */
+    public long drainConsumed() {
+        return consumedSinceSync.getAndSet(0);
+    }
+}
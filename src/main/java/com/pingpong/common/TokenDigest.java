@@ -0,0 +1,33 @@
+package com.pingpong.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 토큰 원문 대신 로컬 캐시 키로 사용할 SHA-256 digest를 생성하는 유틸리티
+ */
+public final class TokenDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    });
+
+    private TokenDigest() {
+    }
+
+    /**
+     * 토큰의 SHA-256 digest를 URL-safe Base64 문자열로 반환
+     * @param token 토큰 원문
+     * @return digest 문자열
+     */
+    public static String of(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+}
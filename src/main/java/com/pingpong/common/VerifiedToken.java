@@ -0,0 +1,73 @@
+package com.pingpong.common;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 서명 검증을 한 번만 수행한 JWT의 결과를 담는 객체
+ *
+ * 요청 하나에서 여러 필터가 같은 토큰을 다시 파싱하지 않도록 ServerWebExchange attribute에 저장되어 공유됨
+ * 서명은 유효하지만 만료된 토큰도 claims를 보존하여 재발급 필터가 사용할 수 있도록 함
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VerifiedToken {
+
+    /**
+     * ServerWebExchange attribute 키
+     */
+    public static final String ATTRIBUTE = VerifiedToken.class.getName();
+
+    private final String token;
+    private final Claims claims;
+    private final boolean expired;
+
+    /**
+     * 서명과 만료 시간이 모두 유효한 토큰
+     */
+    static VerifiedToken valid(String token, Claims claims) {
+        return new VerifiedToken(token, claims, false);
+    }
+
+    /**
+     * 서명은 유효하지만 만료된 토큰
+     */
+    static VerifiedToken expired(String token, Claims claims) {
+        return new VerifiedToken(token, claims, true);
+    }
+
+    /**
+     * 서명 검증에 실패했거나 형식이 올바르지 않은 토큰
+     */
+    static VerifiedToken invalid(String token) {
+        return new VerifiedToken(token, null, false);
+    }
+
+    /**
+     * 서버가 발행한 토큰인지 (서명 검증 성공 여부)
+     * @return 서명이 유효하면 true
+     */
+    public boolean isSigned() {
+        return claims != null;
+    }
+
+    /**
+     * 서명이 유효하고 만료되지 않은 토큰인지
+     * @return 사용 가능한 토큰이면 true
+     */
+    public boolean isUsable() {
+        return isSigned() && !expired;
+    }
+
+    public String getSubject() {
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    public Date getExpiration() {
+        return claims != null ? claims.getExpiration() : null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.pingpong.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서명 검증이 끝난 JWT를 토큰 만료 시점까지 보관하는 로컬 캐시
+ *
+ * 키는 토큰 원문이 아닌 SHA-256 digest를 사용하고, 각 엔트리는 토큰의 exp 시점에 만료
+ * 최대 크기를 넘으면 사용 빈도가 낮은 엔트리부터 제거
+ * 만료되었거나 서명이 유효하지 않은 토큰은 저장하지 않으며, 무효화된 토큰은 evict로 즉시 제거
+ * hit/miss 통계는 jwt.verified-tokens 이름으로 actuator metrics에 노출
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    /**
+     * 캐시된 검증 결과 조회
+     * @param token JWT 토큰
+     * @return 캐시된 VerifiedToken, 없거나 만료되었으면 null
+     */
+    public VerifiedToken get(String token) {
+        VerifiedToken verified = cache.getIfPresent(TokenDigest.of(token));
+        // digest 충돌이나 exp 경계 시점에 대비해 원문과 만료 여부를 한 번 더 확인
+        if (verified == null || !verified.getToken().equals(token) || isExpired(verified)) {
+            return null;
+        }
+        return verified;
+    }
+
+    /**
+     * 서명과 만료 시간이 유효한 토큰만 저장
+     * @param verified 검증 결과
+     */
+    public void put(VerifiedToken verified) {
+        if (verified.isUsable() && verified.getExpiration() != null) {
+            cache.put(TokenDigest.of(verified.getToken()), verified);
+        }
+    }
+
+    /**
+     * 무효화된 토큰을 캐시에서 제거
+     * @param token JWT 토큰
+     */
+    public void evict(String token) {
+        cache.invalidate(TokenDigest.of(token));
+    }
+
+    private static boolean isExpired(VerifiedToken verified) {
+        return verified.getExpiration().getTime() <= System.currentTimeMillis();
+    }
+
+    /**
+     * 각 엔트리의 수명을 토큰의 exp 까지로 설정
+     */
+    private static class UntilTokenExpiration implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            Date expiration = value.getExpiration();
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
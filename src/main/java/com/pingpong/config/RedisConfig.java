@@ -4,10 +4,11 @@ import com.pingpong.property.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import lombok.extern.slf4j.Slf4j;
@@ -39,11 +40,12 @@ public class RedisConfig {
 
     /**
      * RedisConnectionFactory를 생성하는 Bean
+     * Lettuce 구현체는 blocking RedisConnectionFactory와 ReactiveRedisConnectionFactory를 모두 제공
      * @param redisProperties Redis 설정 정보를 담고 있는 객체
-     * @return RedisConnectionFactory 객체
+     * @return LettuceConnectionFactory 객체
      */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory(RedisProperties redisProperties) {
+    public LettuceConnectionFactory redisConnectionFactory(RedisProperties redisProperties) {
         RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
         configuration.setPassword(redisProperties.getPassword());
         configuration.setDatabase(redisProperties.getDatabase());
@@ -63,4 +65,25 @@ public class RedisConfig {
         redisTemplate.setConnectionFactory(redisConnectionFactory(redisProperties));
         return redisTemplate;
     }
+
+    /**
+     * Lettuce reactive 커맨드 위에서 동작하는 ReactiveStringRedisTemplate을 생성하는 Bean
+     * 요청 경로(filter)에서 Netty event loop를 막지 않고 Redis를 조회할 때 사용
+     * @param redisConnectionFactory Lettuce 기반 연결 팩토리
+     * @return ReactiveStringRedisTemplate 객체
+     */
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(LettuceConnectionFactory redisConnectionFactory) {
+        return new ReactiveStringRedisTemplate(redisConnectionFactory);
+    }
+
+    /**
+     * Redis pub/sub 및 keyspace notification을 non-blocking으로 구독하기 위한 컨테이너 Bean
+     * @param redisConnectionFactory Lettuce 기반 연결 팩토리
+     * @return ReactiveRedisMessageListenerContainer 객체
+     */
+    @Bean
+    public ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer(LettuceConnectionFactory redisConnectionFactory) {
+        return new ReactiveRedisMessageListenerContainer(redisConnectionFactory);
+    }
 }
@@ -1,63 +1,96 @@
 package com.pingpong.config;
 
+import com.pingpong.filter.DownstreamGuardFilter;
+import com.pingpong.filter.HedgingFilter;
 import com.pingpong.filter.JwtFilter;
+import com.pingpong.filter.LongLivedConnectionFilter;
+import com.pingpong.filter.ResponseCacheFilter;
+import com.pingpong.filter.ServicePrefixStripFilter;
+import com.pingpong.filter.StaticAssetFilter;
+import com.pingpong.property.StaticAssetProperties;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+
 @Configuration
 public class RouteLocatorConfig {
     /**
      * 각 서비스로 라우팅 및 로드밸런싱 설정을 위한 빈
-     * @apiNote rewrite filter를 통해 서비스 구분에 사용되는 경로를 제거하여 서비스로 라우팅
+     * @apiNote 첫 번째 경로 segment로 서비스를 한 번만 판별(ServiceRouteDispatcher)하고, 해당 segment를 제거하여 서비스로 라우팅
      * @apiNote JWT token을 필요로 하는 api의 경우 /auth 경로를 사용하고, 해당 토큰을 검사하는 filter를 추가
+     * @apiNote core, util 서비스의 GET 요청은 느린 인스턴스 대신 다른 인스턴스로 hedge (HedgingFilter)
+     * @apiNote chat, alarm 서비스는 WebSocket / SSE 장기 연결 route로 관리하고 응답 timeout을 적용하지 않음 (LongLivedConnectionFilter)
      * @apiNote Feign 클라이언트를 사용하는 서비스 간 통신을 고려하여 설정
      * @param builder RouteLocatorBuilder
      * @param jwtFilter JWT 토큰 검증을 위한 필터
+     * @param dispatcher 서비스 prefix 판별기
+     * @param stripPrefix 서비스 prefix 제거 필터
+     * @param responseCache 멱등 GET 응답 캐시 필터 (core, util)
+     * @param downstreamGuard 서비스별 concurrency limit / circuit breaker 필터
+     * @param staticAssets 빌드된 frontend 정적 파일 제공 필터
+     * @param staticAssetProperties 정적 파일 제공 설정 (비활성화 시 Vite dev server로 proxy)
      * @return RouteLocator
      */
     @Bean
-    public RouteLocator routeLocator(RouteLocatorBuilder builder, JwtFilter jwtFilter) {
+    public RouteLocator routeLocator(RouteLocatorBuilder builder, JwtFilter jwtFilter,
+                                     ServiceRouteDispatcher dispatcher, ServicePrefixStripFilter stripPrefix,
+                                     ResponseCacheFilter responseCache, DownstreamGuardFilter downstreamGuard,
+                                     StaticAssetFilter staticAssets, StaticAssetProperties staticAssetProperties) {
         return builder.routes()
-                // Auth Service (8081)
                 // Auth Service (8081)
                 .route("auth-api-public", r -> r.path("/auth/signup", "/auth/login")  // 공개 경로는 인증 필요 없음
-                        .filters(f -> f.rewritePath("/auth/(?<segment>.*)", "/${segment}"))
+                        .filters(f -> f.filter(stripPrefix)
+                                .filter(downstreamGuard.forService("AUTH-API")))
                         .uri("lb://AUTH-API"))
-                .route("auth-api-protected", r -> r.path("/auth/**")  // 보호 경로에 employees 추가
-                        .filters(f -> f.filter(jwtFilter).rewritePath("/auth/(?<segment>.*)", "/${segment}"))
+                .route("auth-api-protected", r -> r.predicate(dispatcher.service("auth"))  // 보호 경로에 employees 추가
+                        .filters(f -> f.filter(jwtFilter).filter(stripPrefix)
+                                .filter(downstreamGuard.forService("AUTH-API")))
                         .uri("lb://AUTH-API"))
 
 
                 // Core Service (8082)
-                .route("core-api", r -> r.path("/core/**")
-                        .filters(f -> f.rewritePath("/core/(?<segment>.*)", "/${segment}"))
+                .route("core-api", r -> r.predicate(dispatcher.service("core"))
+                        .filters(f -> f.filter(stripPrefix).filter(responseCache)
+                                .filter(downstreamGuard.forService("CORE-API")))
+                        .metadata(HedgingFilter.METADATA_KEY, true)
                         .uri("lb://CORE-API"))
 
                 // Mail Service (8083)
-                .route("mail-api", r -> r.path("/mail/**")
-                        .filters(f -> f.rewritePath("/mail/(?<segment>.*)", "/${segment}"))
+                .route("mail-api", r -> r.predicate(dispatcher.service("mail"))
+                        .filters(f -> f.filter(stripPrefix)
+                                .filter(downstreamGuard.forService("MAIL-API")))
                         .uri("lb://MAIL-API"))
 
                 // Util Service (8084)
-                .route("util-api", r -> r.path("/util/**")
-                        .filters(f -> f.rewritePath("/util/(?<segment>.*)", "/${segment}"))
+                .route("util-api", r -> r.predicate(dispatcher.service("util"))
+                        .filters(f -> f.filter(stripPrefix).filter(responseCache)
+                                .filter(downstreamGuard.forService("UTIL-API")))
+                        .metadata(HedgingFilter.METADATA_KEY, true)
                         .uri("lb://UTIL-API"))
 
                 // Chat Service (8085)
-                .route("chat-api", r -> r.path("/chat/**")
-                        .filters(f -> f.rewritePath("/chat/(?<segment>.*)", "/${segment}"))
+                .route("chat-api", r -> r.predicate(dispatcher.service("chat"))
+                        .filters(f -> f.filter(stripPrefix)
+                                .filter(downstreamGuard.forService("CHAT-API")))
+                        .metadata(LongLivedConnectionFilter.METADATA_KEY, true)
+                        .metadata(RESPONSE_TIMEOUT_ATTR, -1)
                         .uri("lb://CHAT-API"))
 
                 // Alarm Service (8086)
-                .route("alarm-api", r -> r.path("/alarm/**")
-                        .filters(f -> f.rewritePath("/alarm/(?<segment>.*)", "/${segment}"))
+                .route("alarm-api", r -> r.predicate(dispatcher.service("alarm"))
+                        .filters(f -> f.filter(stripPrefix)
+                                .filter(downstreamGuard.forService("ALARM-API")))
+                        .metadata(LongLivedConnectionFilter.METADATA_KEY, true)
+                        .metadata(RESPONSE_TIMEOUT_ATTR, -1)
                         .uri("lb://ALARM-API"))
 
-                // Frontend (5173)
+                // Frontend (빌드된 정적 파일 또는 Vite dev server 5173)
                 .route("frontend", r -> r.path("/**")
-                        .uri("http://localhost:5173"))
+                        .filters(f -> f.filter(staticAssets))
+                        .uri(staticAssetProperties.isEnabled() ? "no://op" : staticAssetProperties.getDevServerUri()))
                 .build();
     }
-}
\ No newline at end of file
+}
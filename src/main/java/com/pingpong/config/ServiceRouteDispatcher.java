@@ -0,0 +1,44 @@
+package com.pingpong.config;
+
+import com.pingpong.common.PathSegmentTrie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.function.Predicate;
+
+/**
+ * 요청 경로의 첫 번째 segment로 대상 서비스를 한 번만 판별하는 route dispatch 단계
+ *
+ * 판별 결과는 exchange attribute에 저장되어, 각 route의 predicate는 경로 패턴 매칭 대신 참조 비교만 수행
+ * 서비스가 늘어나도 요청당 경로 탐색은 한 번으로 유지됨
+ */
+@Component
+public class ServiceRouteDispatcher {
+
+    private static final String ATTRIBUTE = ServiceRouteDispatcher.class.getName() + ".service";
+    private static final String NO_SERVICE = "";
+
+    private final PathSegmentTrie<String> services = new PathSegmentTrie<>();
+
+    /**
+     * 서비스 prefix를 등록하고 해당 서비스로 향하는 요청인지 판단하는 predicate 반환
+     * @param prefix 서비스 구분 경로 (예: "core")
+     * @return route predicate
+     */
+    public Predicate<ServerWebExchange> service(String prefix) {
+        services.put(prefix, prefix);
+        return exchange -> prefix.equals(resolve(exchange));
+    }
+
+    private String resolve(ServerWebExchange exchange) {
+        String service = exchange.getAttribute(ATTRIBUTE);
+        if (service == null) {
+            service = services.match(exchange.getRequest().getURI().getRawPath());
+            if (service == null) {
+                service = NO_SERVICE;
+            }
+            exchange.getAttributes().put(ATTRIBUTE, service);
+        }
+        return service;
+    }
+}
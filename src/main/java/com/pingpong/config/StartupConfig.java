@@ -0,0 +1,31 @@
+package com.pingpong.config;
+
+import com.pingpong.common.VerifiedTokenCache;
+import com.pingpong.service.RevokedTokenNearCache;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 기동 시간 관련 설정
+ *
+ * fast-start 프로필(spring.main.lazy-initialization)에서도 요청 경로의 bean은 기동 시 생성하여
+ * 첫 요청이 필터 / route / 토큰 캐시 생성 비용을 부담하지 않도록 함
+ * near-cache는 기동 시 keyspace event 구독을 시작해야 무효화 토큰을 놓치지 않음
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * lazy initialization 대상에서 제외할 요청 경로 bean 타입
+     * @return LazyInitializationExcludeFilter
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter requestPathBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(GlobalFilter.class, GatewayFilter.class,
+                RouteLocator.class, VerifiedTokenCache.class, RevokedTokenNearCache.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.pingpong.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Gateway가 직접 호출하는 서비스(Auth 서비스 재발급 API 등)에 사용할 WebClient 설정
+ *
+ * 요청마다 WebClient를 새로 만들지 않고 하나의 connection pool을 공유하며,
+ * Eureka에 등록된 AUTH-API 인스턴스로 로드밸런싱
+ * hedged request는 load balancer를 거치지 않고 선택된 인스턴스로 직접 보내는 별도 WebClient를 사용
+ * pool 지표(active, idle, pending acquire)는 reactor.netty.connection.provider.* 로 actuator metrics에 노출
+ */
+@Configuration
+public class WebClientConfig {
+
+    /**
+     * Auth 서비스 호출용 connection pool
+     * @return ConnectionProvider
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider authConnectionProvider(@Value("${spring.auth.pool.max-connections:100}") int maxConnections,
+                                                     @Value("${spring.auth.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+                                                     @Value("${spring.auth.pool.pending-acquire-timeout-millis:2000}") long pendingAcquireTimeoutMillis,
+                                                     @Value("${spring.auth.pool.max-idle-seconds:30}") long maxIdleSeconds) {
+        return ConnectionProvider.builder("auth-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .evictInBackground(Duration.ofSeconds(maxIdleSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * AUTH-API 인스턴스로 로드밸런싱되는 공유 WebClient
+     * @param authConnectionProvider Auth 서비스 호출용 connection pool
+     * @param loadBalancerFunction Spring Cloud LoadBalancer exchange filter
+     * @return WebClient
+     */
+    @Bean
+    public WebClient authWebClient(ConnectionProvider authConnectionProvider,
+                                   ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                   @Value("${spring.auth.uri:http://AUTH-API}") String authUri,
+                                   @Value("${spring.auth.connect-timeout-millis:1000}") int connectTimeoutMillis,
+                                   @Value("${spring.auth.response-timeout-millis:3000}") long responseTimeoutMillis) {
+        HttpClient httpClient = HttpClient.create(authConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis))
+                .metrics(true, uri -> "/refresh");
+
+        return WebClient.builder()
+                .baseUrl(authUri)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(loadBalancerFunction)
+                .build();
+    }
+
+    /**
+     * hedged request용 connection pool
+     * @return ConnectionProvider
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider hedgeConnectionProvider(@Value("${gateway.hedge.pool.max-connections:200}") int maxConnections,
+                                                      @Value("${gateway.hedge.pool.max-idle-seconds:30}") long maxIdleSeconds) {
+        return ConnectionProvider.builder("hedge")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .evictInBackground(Duration.ofSeconds(maxIdleSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * 인스턴스 주소로 직접 호출하는 hedged request용 WebClient (응답 시간 제한은 route 설정을 따름)
+     * @param hedgeConnectionProvider hedged request용 connection pool
+     * @return WebClient
+     */
+    @Bean
+    public WebClient hedgeWebClient(ConnectionProvider hedgeConnectionProvider,
+                                    @Value("${spring.cloud.gateway.httpclient.connect-timeout:1000}") int connectTimeoutMillis) {
+        HttpClient httpClient = HttpClient.create(hedgeConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true);
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
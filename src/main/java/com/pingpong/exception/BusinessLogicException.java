@@ -2,13 +2,17 @@ package com.pingpong.exception;
 
 import lombok.Getter;
 
+/**
+ * ExceptionCode로 응답하는 비즈니스 예외
+ * 거절 응답은 ExceptionCode 만으로 결정되므로 stack trace를 만들지 않음
+ */
 public class BusinessLogicException extends RuntimeException {
 
     @Getter
     private ExceptionCode exceptionCode;
 
     public BusinessLogicException(ExceptionCode exceptionCode) {
-        super(exceptionCode.getStatusDescription());
+        super(exceptionCode.getStatusDescription(), null, false, false);
         this.exceptionCode = exceptionCode;
     }
 }
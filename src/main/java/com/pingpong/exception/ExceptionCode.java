@@ -16,7 +16,28 @@ public enum ExceptionCode {
     TOKEN_NOT_AUTHENTICATED(401, "Not Authenticated Token"),
 
      // access 혹은 refresh 토큰이 만료됐을 경우 에러 발생
-    TOKEN_EXPIRED(401, "Token has expired");
+    TOKEN_EXPIRED(401, "Token has expired"),
+
+     // 사용자별 요청 한도를 초과한 경우 에러 발생
+    TOO_MANY_REQUESTS(429, "Too many requests"),
+
+     // 사용자별 WebSocket / SSE 동시 연결 한도를 초과한 경우 에러 발생
+    TOO_MANY_CONNECTIONS(429, "Too many concurrent connections"),
+
+     // downstream 서비스의 동시 요청 한도를 초과한 경우 에러 발생
+    SERVICE_OVERLOADED(503, "Service is overloaded"),
+
+     // downstream 서비스의 circuit breaker가 열려 있는 경우 에러 발생
+    SERVICE_UNAVAILABLE(503, "Service temporarily unavailable"),
+
+     // downstream 서비스에 연결하지 못했거나 잘못된 응답을 받은 경우 에러 발생
+    BAD_GATEWAY(502, "Bad gateway"),
+
+     // downstream 서비스가 응답 시간 안에 응답하지 않은 경우 에러 발생
+    GATEWAY_TIMEOUT(504, "Gateway timeout"),
+
+     // 무효화 토큰 조회 등 gateway 내부 처리에 실패한 경우 에러 발생
+    INTERNAL_SERVER_ERROR(500, "Internal server error");
 
     @Getter
     private int statusCode;
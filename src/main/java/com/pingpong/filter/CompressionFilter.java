@@ -0,0 +1,264 @@
+package com.pingpong.filter;
+
+import com.pingpong.common.DeflaterPool;
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.property.CompressionProperties;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * upstream 응답을 gateway에서 gzip으로 압축하는 글로벌 필터
+ *
+ * - 클라이언트가 gzip을 받을 수 있고, route 정책의 Content-Type이며, 최소 크기 이상인 응답만 압축
+ * - 이미 Content-Encoding이 있는 응답, streaming 응답(SSE 등), zero-copy 파일 전송은 그대로 전달
+ * - body는 upstream chunk 단위로 압축하여 바로 내보내며(SYNC_FLUSH) 전체를 모으지 않음
+ * - 압축기(Deflater)는 pool에서 빌려 쓰고 응답이 끝나면 반환
+ * 압축 전후 바이트 수와 압축에 쓴 CPU 시간은 gateway.compression.* 지표로 기록
+ */
+@Component
+public class CompressionFilter implements GlobalFilter, Ordered {
+
+    private static final Pattern REJECTED_QUALITY = Pattern.compile("q=0(\\.0*)?");
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final CompressionProperties properties;
+    private final GatewayMetrics gatewayMetrics;
+    private final DeflaterPool deflaterPool;
+    private final Map<List<String>, List<MediaType>> parsedContentTypes = new ConcurrentHashMap<>();
+
+    public CompressionFilter(CompressionProperties properties, GatewayMetrics gatewayMetrics) {
+        this.properties = properties;
+        this.gatewayMetrics = gatewayMetrics;
+        this.deflaterPool = new DeflaterPool(properties.getLevel(), properties.getPoolSize());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() == HttpMethod.HEAD
+                || !acceptsGzip(exchange.getRequest().getHeaders())) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new CompressingResponse(exchange)).build());
+    }
+
+    /**
+     * upstream 응답 writer(NettyWriteResponseFilter)와 응답 캐시보다 먼저 실행되어 응답 캐시 바깥에서 압축
+     * 캐시는 압축 전 body와 압축 전 헤더(write 시작 시점)를 저장하고, 캐시 적중 응답은 이 필터가 다시 압축
+     * @return int 필터 순서
+     */
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    private static boolean acceptsGzip(HttpHeaders headers) {
+        String acceptEncoding = headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !REJECTED_QUALITY.matcher(parts[1].replace(" ", "")).matches();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 응답 header가 정해진 시점(writeWith)에 압축 여부를 결정하는 decorator
+     */
+    private class CompressingResponse extends ServerHttpResponseDecorator implements ZeroCopyHttpOutputMessage {
+
+        private final ServerWebExchange exchange;
+
+        CompressingResponse(ServerWebExchange exchange) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!shouldCompress()) {
+                return super.writeWith(body);
+            }
+
+            HttpHeaders headers = getHeaders();
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String etag = headers.getETag();
+            if (etag != null && !etag.startsWith("W/")) {
+                headers.setETag("W/" + etag);
+            }
+
+            GzipStream gzip = new GzipStream(bufferFactory());
+            Flux<DataBuffer> compressed = Flux.concat(
+                            Mono.fromSupplier(gzip::header),
+                            Flux.from(body).map(gzip::compress),
+                            Mono.fromSupplier(gzip::finish))
+                    .doFinally(signal -> {
+                        gzip.release();
+                        gatewayMetrics.recordCompression(exchange, gzip.bytesIn, gzip.bytesOut, gzip.cpuNanos);
+                    });
+            return super.writeWith(compressed);
+        }
+
+        /**
+         * zero-copy 파일 전송은 압축하지 않고 그대로 전달
+         */
+        @Override
+        public Mono<Void> writeWith(Path file, long position, long count) {
+            ServerHttpResponse delegate = getDelegate();
+            if (delegate instanceof ZeroCopyHttpOutputMessage) {
+                return ((ZeroCopyHttpOutputMessage) delegate).writeWith(file, position, count);
+            }
+            return super.writeWith(DataBufferUtils.read(file, bufferFactory(), 64 * 1024));
+        }
+
+        @Override
+        public Mono<Void> writeWith(File file, long position, long count) {
+            return writeWith(file.toPath(), position, count);
+        }
+
+        private boolean shouldCompress() {
+            HttpStatus status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            if (status == HttpStatus.NO_CONTENT || status == HttpStatus.NOT_MODIFIED
+                    || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return false;
+            }
+
+            CompressionProperties.Policy policy = properties.policyFor(GatewayMetrics.routeId(exchange));
+            MediaType contentType = headers.getContentType();
+            long contentLength = headers.getContentLength();
+            if (!policy.isEnabled() || contentType == null
+                    || MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+                    || (contentLength >= 0 && contentLength < policy.getMinSize().toBytes())) {
+                return false;
+            }
+            for (MediaType allowed : parsedContentTypes.computeIfAbsent(policy.getContentTypes(), MediaType::parseMediaTypes)) {
+                if (allowed.includes(contentType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 응답 하나의 gzip stream (header, chunk 별 deflate, CRC/길이 trailer)
+     */
+    private final class GzipStream {
+
+        private final DataBufferFactory bufferFactory;
+        private final CRC32 crc = new CRC32();
+        private Deflater deflater;
+        private long bytesIn;
+        private long bytesOut;
+        private long cpuNanos;
+
+        GzipStream(DataBufferFactory bufferFactory) {
+            this.bufferFactory = bufferFactory;
+        }
+
+        DataBuffer header() {
+            bytesOut += GZIP_HEADER.length;
+            return bufferFactory.wrap(GZIP_HEADER.clone());
+        }
+
+        synchronized DataBuffer compress(DataBuffer input) {
+            long start = System.nanoTime();
+            try {
+                if (deflater == null) {
+                    deflater = deflaterPool.borrow();
+                }
+                ByteBuffer source = input.asByteBuffer();
+                bytesIn += source.remaining();
+                crc.update(source.duplicate());
+                deflater.setInput(source);
+                return bufferFactory.wrap(drain(Deflater.SYNC_FLUSH));
+            } finally {
+                DataBufferUtils.release(input);
+                cpuNanos += System.nanoTime() - start;
+            }
+        }
+
+        synchronized DataBuffer finish() {
+            long start = System.nanoTime();
+            if (deflater == null) {
+                deflater = deflaterPool.borrow();
+            }
+            deflater.finish();
+            byte[] tail = drain(Deflater.NO_FLUSH);
+            byte[] out = new byte[tail.length + 8];
+            System.arraycopy(tail, 0, out, 0, tail.length);
+            writeIntLE(out, tail.length, (int) crc.getValue());
+            writeIntLE(out, tail.length + 4, (int) bytesIn);
+            bytesOut += 8;
+            cpuNanos += System.nanoTime() - start;
+            return bufferFactory.wrap(out);
+        }
+
+        synchronized void release() {
+            if (deflater != null) {
+                deflaterPool.release(deflater);
+                deflater = null;
+            }
+        }
+
+        /**
+         * SYNC_FLUSH: 출력 공간이 남을 때까지, finish 이후: stream이 끝날 때까지 압축 결과를 꺼냄
+         */
+        private byte[] drain(int flush) {
+            byte[] buffer = new byte[8192];
+            int length = 0;
+            while (true) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length, flush);
+                if (flush == Deflater.SYNC_FLUSH ? length < buffer.length : deflater.finished()) {
+                    break;
+                }
+            }
+            bytesOut += length;
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void writeIntLE(byte[] out, int offset, int value) {
+            out[offset] = (byte) value;
+            out[offset + 1] = (byte) (value >>> 8);
+            out[offset + 2] = (byte) (value >>> 16);
+            out[offset + 3] = (byte) (value >>> 24);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.pingpong.filter;
+
+import com.pingpong.common.AdaptiveConcurrencyLimit;
+import com.pingpong.common.CircuitBreaker;
+import com.pingpong.common.ErrorResponseWriter;
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.exception.ExceptionCode;
+import com.pingpong.property.DownstreamProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * downstream 서비스별로 동시 요청 수와 장애 전파를 제한하는 필터
+ *
+ * - adaptive concurrency limit: 서비스의 응답 시간이 늘어나면 동시 요청 한도를 줄여 gateway에 요청이 쌓이지 않도록 함
+ * - circuit breaker: 5xx/오류 비율이 높은 서비스는 일정 시간 호출하지 않고 즉시 503으로 응답
+ * 한 서비스가 느려져도 connection과 메모리를 다른 route와 나눠 쓰는 gateway 전체가 함께 느려지지 않음
+ *
+ * 응답 시간은 응답 header가 commit 되는 시점까지로 측정하여 body streaming 시간은 제외
+ */
+@Component
+public class DownstreamGuardFilter {
+
+    private final DownstreamProperties properties;
+    private final GatewayMetrics gatewayMetrics;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final Map<String, GatewayFilter> guards = new ConcurrentHashMap<>();
+
+    public DownstreamGuardFilter(DownstreamProperties properties, GatewayMetrics gatewayMetrics,
+                                 ErrorResponseWriter errorResponseWriter) {
+        this.properties = properties;
+        this.gatewayMetrics = gatewayMetrics;
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
+    /**
+     * 서비스 하나에 대한 concurrency limit / circuit breaker 필터 반환 (같은 서비스의 route는 상태를 공유)
+     * @param serviceId lb:// 서비스 id (예: "MAIL-API")
+     * @return route filter
+     */
+    public GatewayFilter forService(String serviceId) {
+        return guards.computeIfAbsent(serviceId, this::createGuard);
+    }
+
+    private GatewayFilter createGuard(String serviceId) {
+        DownstreamProperties.Limit limitProperties = properties.getLimit();
+        DownstreamProperties.Breaker breakerProperties = properties.getCircuitBreaker();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(limitProperties.getInitial(),
+                limitProperties.getMin(), limitProperties.getMax(), limitProperties.getTolerance(),
+                limitProperties.getSmoothing(), limitProperties.getBackoffRatio());
+        CircuitBreaker breaker = new CircuitBreaker(breakerProperties.getFailureRateThreshold(),
+                breakerProperties.getSlidingWindowSize(), breakerProperties.getMinimumCalls(),
+                breakerProperties.getOpenDuration().toNanos(), breakerProperties.getHalfOpenCalls());
+        gatewayMetrics.registerDownstream(serviceId, limit, breaker);
+
+        return (exchange, chain) -> properties.isEnabled()
+                ? gatewayMetrics.timeFilter("downstream-guard", exchange, chain,
+                        (ex, ch) -> guard(ex, ch, limit, breaker))
+                : chain.filter(exchange);
+    }
+
+    private Mono<Void> guard(ServerWebExchange exchange, GatewayFilterChain chain,
+                             AdaptiveConcurrencyLimit limit, CircuitBreaker breaker) {
+        long start = System.nanoTime();
+        if (!breaker.tryAcquire(start)) {
+            return errorResponseWriter.write(exchange, ExceptionCode.SERVICE_UNAVAILABLE);
+        }
+        if (!limit.tryAcquire()) {
+            breaker.onIgnored();
+            return errorResponseWriter.write(exchange, ExceptionCode.SERVICE_OVERLOADED);
+        }
+
+        AtomicBoolean completed = new AtomicBoolean();
+        exchange.getResponse().beforeCommit(() -> {
+            if (completed.compareAndSet(false, true)) {
+                onResponse(exchange.getResponse(), start, limit, breaker);
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .doOnError(e -> {
+                    if (completed.compareAndSet(false, true)) {
+                        limit.onDropped();
+                        breaker.onResult(false, System.nanoTime());
+                    }
+                })
+                .doFinally(signal -> {
+                    if (completed.compareAndSet(false, true)) {
+                        if (signal == SignalType.ON_COMPLETE) {
+                            onResponse(exchange.getResponse(), start, limit, breaker);
+                        } else {
+                            limit.onIgnored();
+                            breaker.onIgnored();
+                        }
+                    }
+                });
+    }
+
+    /**
+     * 응답 상태로 결과를 반영 (5xx는 실패, 그 외는 응답 시간 sample)
+     */
+    private void onResponse(ServerHttpResponse response, long start, AdaptiveConcurrencyLimit limit,
+                            CircuitBreaker breaker) {
+        long now = System.nanoTime();
+        Integer status = response.getRawStatusCode();
+        boolean failed = status != null && status >= 500;
+        if (failed) {
+            limit.onDropped();
+        } else {
+            limit.onSuccess(now - start);
+        }
+        breaker.onResult(!failed, now);
+    }
+}
@@ -1,12 +1,15 @@
 package com.pingpong.filter;
 
+import com.pingpong.common.ErrorResponseWriter;
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.common.JwtUtils;
+import com.pingpong.exception.ExceptionCode;
 import com.pingpong.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
@@ -21,7 +24,10 @@ import java.util.Optional;
 @Component
 public class GlobalInvalidatedTokenFilter implements GlobalFilter, Ordered {
 
+    private final JwtUtils jwtUtils;
     private final TokenService tokenService;
+    private final GatewayMetrics gatewayMetrics;
+    private final ErrorResponseWriter errorResponseWriter;
 
     private static final String BEARER_PREFIX = "Bearer ";
 
@@ -33,6 +39,10 @@ public class GlobalInvalidatedTokenFilter implements GlobalFilter, Ordered {
      */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return gatewayMetrics.timeFilter("invalidated-token", exchange, chain, this::filterToken);
+    }
+
+    private Mono<Void> filterToken(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
 
         return extractToken(request)
@@ -53,24 +63,29 @@ public class GlobalInvalidatedTokenFilter implements GlobalFilter, Ordered {
 
     /**
      * 토큰의 유효성을 검사하고 적절한 응답을 반환
+     * 서명 검증 결과는 exchange attribute에 저장되어 이후 필터에서 재사용되며,
+     * 서버가 발행하지 않은 토큰은 무효화 목록에 있을 수 없으므로 Redis 조회를 생략하고 이후 필터에서 거절되도록 넘김
      * @param token 검증할 토큰
      * @param exchange ServerWebExchange
      * @param chain GatewayFilterChain
      * @return Mono<Void>
      */
     private Mono<Void> validateToken(String token, ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!jwtUtils.resolve(exchange, token).isSigned()) {
+            return chain.filter(exchange);
+        }
+
+        // 무효화 여부를 확인하지 못한 경우만 500으로 응답 (이후 필터의 오류는 그대로 전달)
         return tokenService.isTokenInvalidated(token)
+                .onErrorResume(e -> errorResponseWriter.write(exchange, ExceptionCode.INTERNAL_SERVER_ERROR)
+                        .then(Mono.<Boolean>empty()))
                 .flatMap(isInvalidated -> {
                     if (isInvalidated) {
-                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                        return exchange.getResponse().setComplete();
+                        jwtUtils.evict(token);
+                        return errorResponseWriter.write(exchange, ExceptionCode.TOKEN_NOT_AUTHENTICATED);
                     } else {
                         return chain.filter(exchange);
                     }
-                })
-                .onErrorResume(e -> {
-                    exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
-                    return exchange.getResponse().setComplete();
                 });
     }
 
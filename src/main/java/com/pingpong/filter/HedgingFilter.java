@@ -0,0 +1,254 @@
+package com.pingpong.filter;
+
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.common.LatencyQuantile;
+import com.pingpong.common.RetryBudget;
+import com.pingpong.property.HedgeProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * 멱등 GET 요청을 다른 인스턴스로 한 번 더 보내(hedge) 느린 인스턴스로 인한 tail latency를 줄이는 필터
+ *
+ * route metadata에 hedge: true가 있는 route의 GET 요청에만 적용
+ * - load balancer가 고른 인스턴스로 먼저 요청하고, route의 첫 요청 p95 응답 시간이 지나도 응답 header가 오지 않으면
+ *   Eureka에 등록된 다른 인스턴스로 두 번째 요청을 보냄
+ * - 먼저 응답한 쪽을 사용하고 나머지 요청은 취소
+ * - 첫 요청이 연결 오류 등으로 실패하면 같은 지연 후 두 번째 요청이 재시도 역할을 함
+ * 두 번째 요청은 전역 retry budget 안에서만 보내므로 장애 시 추가 부하는 원래 요청의 일정 비율로 제한됨
+ *
+ * load balancer 필터가 인스턴스를 고른 뒤, Netty routing 필터 대신 요청을 전송
+ * (route metadata의 response-timeout, 없으면 spring.cloud.gateway.httpclient.response-timeout 적용)
+ * 첫 요청 응답 시간 표본이 min-samples보다 적어 hedge 지연을 정할 수 없으면 Netty routing 필터로 그대로 보내고 응답 시간만 기록
+ */
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    /**
+     * route metadata 키 (true인 route만 hedge)
+     */
+    public static final String METADATA_KEY = "hedge";
+
+    private final HedgeProperties properties;
+    private final WebClient hedgeWebClient;
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final GatewayMetrics gatewayMetrics;
+    private final RetryBudget retryBudget;
+    private final Duration globalResponseTimeout;
+    private final Map<String, LatencyQuantile> latencies = new ConcurrentHashMap<>();
+
+    public HedgingFilter(HedgeProperties properties, @Qualifier("hedgeWebClient") WebClient hedgeWebClient,
+                         ReactiveDiscoveryClient discoveryClient, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                         GatewayMetrics gatewayMetrics, HttpClientProperties httpClientProperties) {
+        this.properties = properties;
+        this.hedgeWebClient = hedgeWebClient;
+        this.discoveryClient = discoveryClient;
+        this.headersFilters = headersFilters;
+        this.gatewayMetrics = gatewayMetrics;
+        this.globalResponseTimeout = httpClientProperties.getResponseTimeout();
+        this.retryBudget = new RetryBudget(properties.getBudget().getRatio(), properties.getBudget().getMaxBalance());
+        gatewayMetrics.registerRetryBudget(retryBudget);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI primaryUri = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (!properties.isEnabled() || route == null || primaryUri == null || isAlreadyRouted(exchange)
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || !Boolean.TRUE.equals(route.getMetadata().get(METADATA_KEY))
+                || !("http".equals(primaryUri.getScheme()) || "https".equals(primaryUri.getScheme()))) {
+            return chain.filter(exchange);
+        }
+
+        retryBudget.deposit();
+        LatencyQuantile latency = latencies.computeIfAbsent(route.getId(), id -> new LatencyQuantile(
+                properties.getQuantile(), properties.getSampleSize(), properties.getMinSamples()));
+        long start = System.nanoTime();
+        long delayNanos = latency.getNanos();
+        if (delayNanos < 0) {
+            // hedge 지연을 아직 정할 수 없으면 Netty routing 필터(httpclient 설정, timeout 적용)로 보내고
+            // 응답 header를 쓰기 시작하는 시점까지의 시간을 첫 요청 응답 시간으로 기록
+            exchange.getResponse().beforeCommit(() -> {
+                latency.record(System.nanoTime() - start);
+                return Mono.empty();
+            });
+            return chain.filter(exchange);
+        }
+        setAlreadyRouted(exchange);
+
+        HttpHeaders requestHeaders = requestHeaders(exchange);
+        // hedge 지연은 첫 요청의 응답 header 시간으로 정함 (이긴 요청의 시간으로 정하면 hedge가 늘수록 지연이 짧아짐)
+        // hedge가 이겨 첫 요청이 취소되면 취소 시점까지의 시간(실제 지연의 하한)을 기록
+        AtomicBoolean latencyRecorded = new AtomicBoolean();
+        Runnable recordPrimaryLatency = () -> {
+            if (latencyRecorded.compareAndSet(false, true)) {
+                latency.record(System.nanoTime() - start);
+            }
+        };
+        Mono<ResponseEntity<Flux<DataBuffer>>> primary = send(primaryUri, requestHeaders)
+                .doOnNext(ignored -> {
+                    recordPrimaryLatency.run();
+                    gatewayMetrics.recordHedge(exchange, "primary");
+                })
+                .doOnCancel(recordPrimaryLatency);
+
+        Duration delay = clamp(Duration.ofNanos(delayNanos));
+        Mono<ResponseEntity<Flux<DataBuffer>>> hedge = Mono.delay(delay)
+                .flatMap(ignored -> hedgeUri(route.getUri().getHost(), primaryUri))
+                .flatMap(hedgeUri -> {
+                    if (!retryBudget.tryWithdraw()) {
+                        gatewayMetrics.recordHedge(exchange, "budget-exhausted");
+                        return Mono.empty();
+                    }
+                    return send(hedgeUri, requestHeaders)
+                            .doOnNext(ignored -> gatewayMetrics.recordHedge(exchange, "hedge"));
+                });
+        Mono<ResponseEntity<Flux<DataBuffer>>> upstream = Mono.firstWithValue(primary, hedge)
+                .onErrorMap(HedgingFilter::unwrap);
+
+        Duration responseTimeout = responseTimeout(route);
+        if (responseTimeout != null) {
+            upstream = upstream.timeout(responseTimeout)
+                    .onErrorMap(TimeoutException.class,
+                            e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, e.getMessage(), e));
+        }
+
+        return upstream.flatMap(response -> write(exchange, response));
+    }
+
+    /**
+     * Netty routing 필터와 같이 route metadata의 response-timeout을 우선 적용하고 (음수이면 timeout 없음),
+     * 없으면 spring.cloud.gateway.httpclient.response-timeout을 적용
+     */
+    private Duration responseTimeout(Route route) {
+        Object responseTimeout = route.getMetadata().get(RESPONSE_TIMEOUT_ATTR);
+        if (responseTimeout instanceof Number) {
+            long millis = ((Number) responseTimeout).longValue();
+            return millis >= 0 ? Duration.ofMillis(millis) : null;
+        }
+        return globalResponseTimeout;
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> send(URI uri, HttpHeaders headers) {
+        return hedgeWebClient.get()
+                .uri(uri)
+                .headers(target -> target.addAll(headers))
+                .retrieve()
+                // 4xx/5xx도 그대로 클라이언트에 전달
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<Flux<DataBuffer>> upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setRawStatusCode(upstream.getStatusCodeValue());
+        response.getHeaders().putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(),
+                upstream.getHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE));
+        Flux<DataBuffer> body = upstream.getBody();
+        return body != null ? response.writeWith(body) : response.setComplete();
+    }
+
+    /**
+     * Netty routing 필터와 같은 규칙으로 downstream에 보낼 요청 header를 만듦
+     */
+    private HttpHeaders requestHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+        if (!Boolean.TRUE.equals(exchange.getAttribute(PRESERVE_HOST_HEADER_ATTRIBUTE))) {
+            headers.remove(HttpHeaders.HOST);
+        }
+        return headers;
+    }
+
+    /**
+     * 첫 요청과 다른 인스턴스의 주소로 요청 URI를 바꿈 (다른 인스턴스가 없으면 hedge 하지 않음)
+     */
+    private Mono<URI> hedgeUri(String serviceId, URI primaryUri) {
+        return discoveryClient.getInstances(serviceId)
+                .filter(instance -> !(instance.getHost().equals(primaryUri.getHost())
+                        && instance.getPort() == primaryUri.getPort()))
+                .collectList()
+                .flatMap(instances -> {
+                    if (instances.isEmpty()) {
+                        return Mono.empty();
+                    }
+                    ServiceInstance instance = instances.get(ThreadLocalRandom.current().nextInt(instances.size()));
+                    return Mono.just(UriComponentsBuilder.fromUri(primaryUri)
+                            .scheme(instance.isSecure() ? "https" : "http")
+                            .host(instance.getHost())
+                            .port(instance.getPort())
+                            .build(true)
+                            .toUri());
+                });
+    }
+
+    private Duration clamp(Duration delay) {
+        if (delay.compareTo(properties.getMinDelay()) < 0) {
+            return properties.getMinDelay();
+        }
+        return delay.compareTo(properties.getMaxDelay()) > 0 ? properties.getMaxDelay() : delay;
+    }
+
+    /**
+     * 두 요청이 모두 실패했으면 첫 요청의 오류를 그대로 전달하여 기존 오류 응답(502, 504 등)을 유지
+     */
+    private static Throwable unwrap(Throwable error) {
+        if (!(error instanceof NoSuchElementException)) {
+            return error;
+        }
+        if (error.getSuppressed().length > 0) {
+            return Exceptions.unwrapMultiple(error.getSuppressed()[0]).get(0);
+        }
+        return error.getCause() != null ? Exceptions.unwrapMultiple(error.getCause()).get(0) : error;
+    }
+
+    /**
+     * load balancer 필터가 인스턴스를 고른 직후, Netty routing 필터보다 먼저 실행
+     * @return int 필터 순서
+     */
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,143 @@
+package com.pingpong.filter;
+
+import com.pingpong.common.JwtUtils;
+import com.pingpong.common.VerifiedToken;
+import com.pingpong.property.IdentityHeaderProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * gateway가 검증한 JWT의 사용자 정보를 서명된 header로 서비스에 전달하는 글로벌 필터
+ *
+ * 서비스(lb://) route 요청에 다음 header를 추가하여 서비스가 JWT를 다시 파싱 / 검증하지 않도록 함
+ * - X-User-Id: JWT subject
+ * - X-User-Roles: 역할 목록 (쉼표로 구분)
+ * - X-User-Expires: 토큰 만료 시각 (epoch seconds)
+ * - X-User-Signature: "{user id}\n{roles}\n{expires}"의 HMAC-SHA256 (gateway.identity.secret, base64url, padding 없음)
+ * 서비스는 signature와 만료 시각을 확인한 뒤 header를 신뢰하면 됨
+ * 클라이언트가 보낸 같은 이름의 header는 항상 제거하여 위조를 막음
+ */
+@Component
+public class IdentityHeaderFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final IdentityHeaderProperties properties;
+    private final JwtUtils jwtUtils;
+    private final ThreadLocal<Mac> macs;
+
+    public IdentityHeaderFilter(IdentityHeaderProperties properties, JwtUtils jwtUtils) {
+        this.properties = properties;
+        this.jwtUtils = jwtUtils;
+        if (properties.isEnabled() && !StringUtils.hasText(properties.getSecret())) {
+            throw new IllegalStateException("gateway.identity.secret must be set when gateway.identity.enabled is true");
+        }
+        SecretKeySpec key = properties.isEnabled()
+                ? new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256")
+                : null;
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || !"lb".equals(route.getUri().getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        VerifiedToken verified = verifiedToken(exchange);
+        boolean stripAuthorization = verified != null && properties.isStripAuthorization()
+                && !properties.getKeepAuthorizationRoutes().contains(route.getId());
+        IdentityHeaderProperties.Headers names = properties.getHeaders();
+        return chain.filter(exchange.mutate().request(request -> request.headers(headers -> {
+            headers.remove(names.getUserId());
+            headers.remove(names.getRoles());
+            headers.remove(names.getExpires());
+            headers.remove(names.getSignature());
+            if (verified == null) {
+                return;
+            }
+            String userId = verified.getSubject();
+            String roles = roles(verified.getClaims().get(properties.getRolesClaim()));
+            Date expiration = verified.getExpiration();
+            String expires = expiration != null ? String.valueOf(expiration.getTime() / 1000) : "";
+            headers.set(names.getUserId(), userId);
+            headers.set(names.getRoles(), roles);
+            headers.set(names.getExpires(), expires);
+            headers.set(names.getSignature(), sign(userId + '\n' + roles + '\n' + expires));
+            if (stripAuthorization) {
+                headers.remove(HttpHeaders.AUTHORIZATION);
+            }
+        })).build());
+    }
+
+    /**
+     * JWT 필터와 재발급 필터 이후, load balancer / hedging 필터 이전에 실행
+     * (재발급으로 바뀐 토큰 기준으로 header를 만들고, hedge 요청에도 같은 header가 전달됨)
+     * @return int 필터 순서
+     */
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+
+    /**
+     * 현재 Authorization 헤더의 토큰이 서명이 유효하고 만료되지 않았으면 검증 결과를 반환
+     * 앞선 필터에서 검증된 결과가 있으면 재사용
+     */
+    private VerifiedToken verifiedToken(ServerWebExchange exchange) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        VerifiedToken verified = jwtUtils.resolve(exchange, authHeader.substring(BEARER_PREFIX.length()));
+        return verified.isUsable() && verified.getSubject() != null ? verified : null;
+    }
+
+    private static String roles(Object claim) {
+        if (claim instanceof Collection) {
+            StringBuilder roles = new StringBuilder();
+            for (Object role : (Collection<?>) claim) {
+                if (roles.length() > 0) {
+                    roles.append(',');
+                }
+                roles.append(role);
+            }
+            return roles.toString();
+        }
+        return claim != null ? claim.toString() : "";
+    }
+
+    private String sign(String payload) {
+        byte[] signature = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize identity header signer", e);
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package com.pingpong.filter;
 
+import com.pingpong.common.ErrorResponseWriter;
+import com.pingpong.common.GatewayMetrics;
 import com.pingpong.common.JwtUtils;
-import com.pingpong.exception.BusinessLogicException;
+import com.pingpong.common.VerifiedToken;
 import com.pingpong.exception.ExceptionCode;
-import com.pingpong.service.TokenService;
+import com.pingpong.service.TokenRefreshService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -21,25 +24,28 @@ import java.util.Date;
 /**
  * JWT 토큰 재발급을 위한 글로벌 필터
  * 이 필터는 다음과 같은 경우에 토큰을 재발급
- * 1. 토큰 만료 시간이 5분 이내로 남은 경우
- * 2. 토큰이 이미 만료된 경우
+ * 1. 토큰 만료 시간이 5분 이내로 남은 경우 (jwt.async-refresh.enabled 이면 요청을 기다리게 하지 않고 백그라운드에서 재발급)
+ * 2. 토큰이 이미 만료된 경우 (재발급 완료 후 요청 전달)
  *
  * 재발급 조건을 만족하고 유효한 Refresh Token이 있는 경우, "/auth/refresh" 엔드포인트로 요청을 보내 새 토큰을 발급 받음
- * 새로 발급받은 토큰은 원래 요청의 Authorization 헤더에 설정되어 다음 Filter로 전달됨
+ * 새로 발급받은 토큰은 원래 요청의 Authorization 헤더에 설정되어 다음 Filter로 전달되고,
+ * 응답 헤더(jwt.refreshed-token-header)로 클라이언트에게도 전달됨
  */
 @RequiredArgsConstructor
 @Component
 public class JwtTokenRefreshFilter implements GlobalFilter, Ordered {
 
     private final JwtUtils jwtUtils;
-    private final TokenService tokenService;
+    private final TokenRefreshService tokenRefreshService;
+    private final GatewayMetrics gatewayMetrics;
+    private final ErrorResponseWriter errorResponseWriter;
 
-    @Value("${spring.auth.host}")
-    private String host;
-    @Value("${spring.auth.port}")
-    private int port;
     @Value("${jwt.refresh-threshold-minutes:5}")
     private long refreshThresholdMinutes;
+    @Value("${jwt.refreshed-token-header:Authorization}")
+    private String refreshedTokenHeader;
+    @Value("${jwt.async-refresh.enabled:true}")
+    private boolean asyncRefreshEnabled;
 
     /**
      * JWT 토큰을 처리하고 필요한 경우 재발급하는 필터 메서드
@@ -49,6 +55,10 @@ public class JwtTokenRefreshFilter implements GlobalFilter, Ordered {
      */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return gatewayMetrics.timeFilter("jwt-refresh", exchange, chain, this::filterToken);
+    }
+
+    private Mono<Void> filterToken(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
@@ -68,16 +78,19 @@ public class JwtTokenRefreshFilter implements GlobalFilter, Ordered {
      * @return 처리된 교환에 대한 Mono
      */
     private Mono<Void> processToken(String token, ServerWebExchange exchange, GatewayFilterChain chain) {
-        if (!jwtUtils.validateToken(token)) {
-            return Mono.error(new BusinessLogicException(ExceptionCode.TOKEN_NOT_AUTHENTICATED));
+        VerifiedToken verified = jwtUtils.resolve(exchange, token);
+        if (!verified.isSigned()) {
+            return errorResponseWriter.write(exchange, ExceptionCode.TOKEN_NOT_AUTHENTICATED);
         }
 
-        if (jwtUtils.isTokenExpired(token)) {
-            return refreshTokenIfPossible(token, exchange, chain);
+        if (verified.isExpired()) {
+            return refreshTokenIfPossible(verified, exchange, chain);
         }
 
-        if (isTokenNearExpiration(token)) {
-            return refreshTokenIfPossible(token, exchange, chain);
+        if (isTokenNearExpiration(verified)) {
+            return asyncRefreshEnabled
+                    ? refreshInBackground(verified, exchange, chain)
+                    : refreshTokenIfPossible(verified, exchange, chain);
         }
 
         return chain.filter(exchange);
@@ -85,11 +98,11 @@ public class JwtTokenRefreshFilter implements GlobalFilter, Ordered {
 
     /**
      * 토큰의 만료 시간이 임계값에 가까운지 확인
-     * @param token 검사할 JWT 토큰
+     * @param verified 검증된 JWT 토큰
      * @return 토큰 만료 시간이 임계값보다 작으면 true, 그렇지 않으면 false
      */
-    private boolean isTokenNearExpiration(String token) {
-        Date expirationDate = jwtUtils.getExpirationDateFromToken(token);
+    private boolean isTokenNearExpiration(VerifiedToken verified) {
+        Date expirationDate = verified.getExpiration();
         if (expirationDate == null) {
             return false;
         }
@@ -99,63 +112,104 @@ public class JwtTokenRefreshFilter implements GlobalFilter, Ordered {
 
     /**
      * 토큰 재발급이 가능한지 확인하고, 가능하다면 재발급 수행
-     * @param token 현재 JWT 토큰
+     * @param verified 검증된 현재 JWT 토큰
      * @param exchange 현재의 서버 교환
      * @param chain 필터 체인
      * @return 처리된 교환에 대한 Mono
      */
-    private Mono<Void> refreshTokenIfPossible(String token, ServerWebExchange exchange, GatewayFilterChain chain) {
-        String username = jwtUtils.getUsernameFromToken(token);
+    private Mono<Void> refreshTokenIfPossible(VerifiedToken verified, ServerWebExchange exchange, GatewayFilterChain chain) {
+        String username = verified.getSubject();
         if (username == null) {
-            return Mono.error(new BusinessLogicException(ExceptionCode.TOKEN_NOT_CONSISTED_PROPERLY));
+            return errorResponseWriter.write(exchange, ExceptionCode.TOKEN_NOT_CONSISTED_PROPERLY);
         }
 
-        return Mono.fromSupplier(() -> tokenService.refreshTokenExists(username))
-                .flatMap(exists -> exists ? refreshToken(token, exchange, chain) : Mono.error(new BusinessLogicException(ExceptionCode.TOKEN_EXPIRED)));
+        return refreshToken(verified.getToken(), username, exchange, chain);
+    }
+
+    /**
+     * 아직 유효한 토큰은 재발급을 기다리지 않고 원래 요청을 바로 전달하고, 재발급은 백그라운드에서 수행
+     * 이미 완료된 재발급 결과가 있으면 새 토큰으로 요청을 전달하고,
+     * 없으면 응답 commit 시점에 완료된 결과가 있을 때 응답 헤더로 전달
+     * @param verified 검증된 현재 JWT 토큰
+     * @param exchange 현재의 서버 교환
+     * @param chain 필터 체인
+     * @return 처리된 교환에 대한 Mono
+     */
+    private Mono<Void> refreshInBackground(VerifiedToken verified, ServerWebExchange exchange, GatewayFilterChain chain) {
+        String username = verified.getSubject();
+        if (username == null) {
+            return errorResponseWriter.write(exchange, ExceptionCode.TOKEN_NOT_CONSISTED_PROPERLY);
+        }
+
+        String token = verified.getToken();
+        String refreshed = tokenRefreshService.getRefreshed(token);
+        if (refreshed != null) {
+            return forwardWithNewToken(refreshed, exchange, chain);
+        }
+
+        tokenRefreshService.refreshInBackground(token, username);
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            String newToken = tokenRefreshService.getRefreshed(token);
+            if (newToken != null) {
+                response.getHeaders().set(refreshedTokenHeader, newToken);
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange);
     }
 
     /**
      * 토큰을 재발급하고 새 토큰으로 요청을 업데이트
+     * 같은 토큰에 대한 동시 요청은 하나의 재발급 호출을 공유
+     * 새 토큰은 응답 헤더로도 전달하여 클라이언트가 이후 요청부터 새 토큰을 사용하도록 함
      * @param token 현재 JWT 토큰
+     * @param username 토큰의 subject
      * @param exchange 현재의 서버 교환
      * @param chain 필터 체인
      * @return 업데이트된 교환에 대한 Mono
      */
-    private Mono<Void> refreshToken(String token, ServerWebExchange exchange, GatewayFilterChain chain) {
-        return createWebClient().post()
-                .uri("/refresh")
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                .retrieve()
-                .toBodilessEntity()
-                .flatMap(response -> {
-                    String newToken = response.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-                    if (newToken == null) {
-                        return Mono.error(new BusinessLogicException(ExceptionCode.TOKEN_NOT_EXIST));
-                    }
-                    ServerHttpRequest newRequest = exchange.getRequest().mutate()
-                            .header(HttpHeaders.AUTHORIZATION, newToken)
-                            .build();
-                    return chain.filter(exchange.mutate().request(newRequest).build());
-                });
+    private Mono<Void> refreshToken(String token, String username, ServerWebExchange exchange, GatewayFilterChain chain) {
+        return tokenRefreshService.refresh(token, username)
+                .flatMap(newToken -> forwardWithNewToken(newToken, exchange, chain));
     }
 
     /**
-     * WebClient 인스턴스를 생성
-     * @return 구성된 WebClient 인스턴스
+     * 새 토큰으로 요청의 Authorization 헤더를 바꾸어 전달하고, 응답 헤더로 클라이언트에게도 전달
+     * @param newToken 새 Authorization 헤더 값
+     * @param exchange 현재의 서버 교환
+     * @param chain 필터 체인
+     * @return 업데이트된 교환에 대한 Mono
      */
-    private WebClient createWebClient() {
-        return WebClient.builder()
-                .baseUrl("http://" + host + ":" + port)
+    private Mono<Void> forwardWithNewToken(String newToken, ServerWebExchange exchange, GatewayFilterChain chain) {
+        deliverToClient(exchange, newToken);
+        ServerHttpRequest newRequest = exchange.getRequest().mutate()
+                .header(HttpHeaders.AUTHORIZATION, newToken)
                 .build();
+        return chain.filter(exchange.mutate().request(newRequest).build());
+    }
+
+    /**
+     * 응답이 commit 되기 직전에 새 토큰을 응답 헤더에 설정
+     * downstream 응답 헤더가 복사된 이후에 적용되므로 덮어써지지 않음
+     * @param exchange 현재의 서버 교환
+     * @param newToken 새 Authorization 헤더 값
+     */
+    private void deliverToClient(ServerWebExchange exchange, String newToken) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            response.getHeaders().set(refreshedTokenHeader, newToken);
+            return Mono.empty();
+        });
     }
 
     /**
      * 실행 순서 정의
+     * 응답 캐시(ResponseCacheFilter)가 재발급된 토큰으로 사용자를 구분하도록 캐시보다 먼저 실행
      * @return 필터 순서 (낮을수록 먼저 실행)
      */
     @Override
     public int getOrder() {
-        return -1;
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 4;
     }
-
 }
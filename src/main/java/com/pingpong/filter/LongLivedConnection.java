@@ -0,0 +1,90 @@
+package com.pingpong.filter;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 장기 연결(WebSocket, SSE) 하나의 상태
+ *
+ * LongLivedConnectionFilter가 연결을 허용할 때 만들어 exchange attribute로 WebSocketProxyFilter에 전달
+ * 연결 슬롯과 열린 연결 수는 close()에서 한 번만 반환
+ * - SSE: 응답 stream이 끝날 때 LongLivedConnectionFilter가 반환
+ * - WebSocket: handshake 응답은 socket이 열리자마자 끝나므로 socket이 닫힐 때 WebSocketProxyFilter가 반환
+ */
+final class LongLivedConnection {
+
+    static final String ATTRIBUTE = LongLivedConnection.class.getName();
+    static final String WEBSOCKET = "websocket";
+    static final String SSE = "sse";
+
+    private final String type;
+    private final long expiresAtMillis;
+    private final Counter inboundFrames;
+    private final Counter outboundFrames;
+    private final Runnable onClose;
+    private final AtomicLong lastActivityNanos = new AtomicLong(System.nanoTime());
+    private final AtomicBoolean opened = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * @param type 연결 종류 (websocket, sse)
+     * @param expiresAtMillis 연결에 사용한 토큰의 만료 시각, 없으면 Long.MAX_VALUE
+     * @param inboundFrames 클라이언트 → 서비스 frame counter
+     * @param outboundFrames 서비스 → 클라이언트 frame counter
+     * @param onClose 연결이 끝날 때 슬롯과 열린 연결 수를 반환하는 hook
+     */
+    LongLivedConnection(String type, long expiresAtMillis, Counter inboundFrames, Counter outboundFrames,
+                        Runnable onClose) {
+        this.type = type;
+        this.expiresAtMillis = expiresAtMillis;
+        this.inboundFrames = inboundFrames;
+        this.outboundFrames = outboundFrames;
+        this.onClose = onClose;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    /**
+     * WebSocket session이 열림 (이후 반환은 session이 닫힐 때 close()로 처리)
+     */
+    void open() {
+        opened.set(true);
+    }
+
+    boolean isOpened() {
+        return opened.get();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            onClose.run();
+        }
+    }
+
+    void inbound() {
+        inboundFrames.increment();
+        touch();
+    }
+
+    void outbound() {
+        outboundFrames.increment();
+        touch();
+    }
+
+    void touch() {
+        lastActivityNanos.set(System.nanoTime());
+    }
+
+    long idleMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivityNanos.get());
+    }
+
+    boolean isTokenExpired() {
+        return System.currentTimeMillis() >= expiresAtMillis;
+    }
+}
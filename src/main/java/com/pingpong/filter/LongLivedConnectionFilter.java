@@ -0,0 +1,211 @@
+package com.pingpong.filter;
+
+import com.pingpong.common.ErrorResponseWriter;
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.common.VerifiedToken;
+import com.pingpong.exception.ExceptionCode;
+import com.pingpong.property.LongLivedConnectionProperties;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * chat, alarm 처럼 장기 연결을 유지하는 route의 WebSocket / SSE 연결을 관리하는 글로벌 필터
+ *
+ * route metadata에 long-lived: true가 있는 route의 WebSocket upgrade 요청과 SSE(Accept: text/event-stream) 요청에 적용
+ * - 사용자(JWT subject, 없으면 client IP)별 동시 연결 수를 제한하고 초과 시 429로 거절
+ * - SSE: 유휴 상태에서 heartbeat comment를 보내 끊어진 클라이언트를 감지하고,
+ *   서비스가 idle-timeout 동안 이벤트를 보내지 않거나 토큰이 만료되면 stream을 종료
+ * - WebSocket: 연결 정보를 attribute로 넘기고 frame 전달, ping / idle 처리, socket 종료 시 연결 반환은 WebSocketProxyFilter가 담당
+ * 열린 연결 수와 frame 수는 gateway.connections.* 지표로 기록
+ */
+@Component
+public class LongLivedConnectionFilter implements GlobalFilter, Ordered {
+
+    /**
+     * route metadata 키 (true인 route만 장기 연결로 관리)
+     */
+    public static final String METADATA_KEY = "long-lived";
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final LongLivedConnectionProperties properties;
+    private final GatewayMetrics gatewayMetrics;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final Map<String, Integer> connectionsPerUser = new ConcurrentHashMap<>();
+
+    public LongLivedConnectionFilter(LongLivedConnectionProperties properties, GatewayMetrics gatewayMetrics,
+                                     ErrorResponseWriter errorResponseWriter) {
+        this.properties = properties;
+        this.gatewayMetrics = gatewayMetrics;
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || !Boolean.TRUE.equals(route.getMetadata().get(METADATA_KEY))) {
+            return chain.filter(exchange);
+        }
+        String type = connectionType(exchange.getRequest().getHeaders());
+        if (type == null) {
+            return chain.filter(exchange);
+        }
+
+        String user = userKey(exchange);
+        if (!tryAcquire(user)) {
+            return errorResponseWriter.write(exchange, ExceptionCode.TOO_MANY_CONNECTIONS);
+        }
+
+        String routeId = route.getId();
+        VerifiedToken verified = exchange.getAttribute(VerifiedToken.ATTRIBUTE);
+        long expiresAtMillis = properties.isCloseOnTokenExpiry() && verified != null && verified.isUsable()
+                && verified.getExpiration() != null ? verified.getExpiration().getTime() : Long.MAX_VALUE;
+        AtomicInteger open = gatewayMetrics.openConnections(routeId, type);
+        open.incrementAndGet();
+        LongLivedConnection connection = new LongLivedConnection(type, expiresAtMillis,
+                gatewayMetrics.connectionFrames(routeId, type, "inbound"),
+                gatewayMetrics.connectionFrames(routeId, type, "outbound"),
+                () -> {
+                    open.decrementAndGet();
+                    release(user);
+                });
+        exchange.getAttributes().put(LongLivedConnection.ATTRIBUTE, connection);
+
+        ServerWebExchange target = LongLivedConnection.SSE.equals(type)
+                ? exchange.mutate().response(new EventStreamResponse(exchange.getResponse(), connection)).build()
+                : exchange;
+        return chain.filter(target)
+                .doFinally(signal -> {
+                    // 열린 WebSocket은 handshake 후에도 유지되므로 WebSocketProxyFilter가 session 종료 시 반환
+                    // (SSE, 또는 handshake에 실패하여 session이 열리지 않은 WebSocket은 여기서 반환)
+                    if (!connection.isOpened()) {
+                        connection.close();
+                    }
+                });
+    }
+
+    /**
+     * upstream 응답 writer(NettyWriteResponseFilter)보다 먼저 실행되어 SSE 응답 decorator가 적용됨
+     * @return int 필터 순서
+     */
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 3;
+    }
+
+    private static String connectionType(HttpHeaders headers) {
+        if ("websocket".equalsIgnoreCase(headers.getUpgrade())) {
+            return LongLivedConnection.WEBSOCKET;
+        }
+        for (MediaType accept : headers.getAccept()) {
+            if (MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(accept)) {
+                return LongLivedConnection.SSE;
+            }
+        }
+        return null;
+    }
+
+    private String userKey(ServerWebExchange exchange) {
+        VerifiedToken verified = exchange.getAttribute(VerifiedToken.ATTRIBUTE);
+        if (verified != null && verified.isUsable()) {
+            return "user:" + verified.getSubject();
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return "ip:" + (remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress() : "unknown");
+    }
+
+    private boolean tryAcquire(String user) {
+        AtomicBoolean acquired = new AtomicBoolean();
+        connectionsPerUser.compute(user, (key, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= properties.getMaxConnectionsPerUser()) {
+                return count;
+            }
+            acquired.set(true);
+            return current + 1;
+        });
+        return acquired.get();
+    }
+
+    private void release(String user) {
+        connectionsPerUser.computeIfPresent(user, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * SSE 응답에 heartbeat, idle timeout, 토큰 만료 종료를 적용하는 decorator
+     * heartbeat는 이벤트 경계(빈 줄)에서만 끼워 넣어 upstream 이벤트가 chunk 중간에서 깨지지 않도록 함
+     * idle timeout과 토큰 만료는 heartbeat 간격마다 확인
+     */
+    private class EventStreamResponse extends ServerHttpResponseDecorator {
+
+        private final LongLivedConnection connection;
+
+        EventStreamResponse(ServerHttpResponse delegate, LongLivedConnection connection) {
+            super(delegate);
+            this.connection = connection;
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+            long idleTimeoutMillis = properties.getIdleTimeout().toMillis();
+            AtomicBoolean atEventBoundary = new AtomicBoolean(true);
+            Sinks.One<Boolean> closed = Sinks.one();
+            Sinks.One<Boolean> finished = Sinks.one();
+
+            Flux<Publisher<DataBuffer>> events = Flux.from(body)
+                    .map(chunk -> (Publisher<DataBuffer>) Flux.from(chunk).doOnNext(buffer -> {
+                        connection.outbound();
+                        atEventBoundary.set(endsWithBlankLine(buffer));
+                    }))
+                    .takeUntilOther(closed.asMono())
+                    .doFinally(signal -> finished.tryEmitValue(true));
+
+            Flux<Publisher<DataBuffer>> heartbeats = Flux.interval(properties.getHeartbeatInterval())
+                    .takeUntilOther(finished.asMono())
+                    .handle((tick, sink) -> {
+                        long idleMillis = connection.idleMillis();
+                        if (connection.isTokenExpired() || (idleTimeoutMillis > 0 && idleMillis >= idleTimeoutMillis)) {
+                            closed.tryEmitValue(true);
+                        } else if (idleMillis >= heartbeatMillis && atEventBoundary.get()) {
+                            sink.next(Mono.fromSupplier(() -> bufferFactory().wrap(HEARTBEAT)));
+                        }
+                    });
+
+            return super.writeAndFlushWith(Flux.merge(events, heartbeats));
+        }
+
+        private boolean endsWithBlankLine(DataBuffer buffer) {
+            int end = buffer.writePosition();
+            return end - buffer.readPosition() >= 2 && buffer.getByte(end - 1) == '\n'
+                    && (buffer.getByte(end - 2) == '\n'
+                    || (end - buffer.readPosition() >= 4 && buffer.getByte(end - 2) == '\r' && buffer.getByte(end - 3) == '\n'));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.pingpong.filter;
+
+import com.pingpong.common.ErrorResponseWriter;
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.common.JwtUtils;
+import com.pingpong.common.VerifiedToken;
+import com.pingpong.exception.ExceptionCode;
+import com.pingpong.property.RateLimitProperties;
+import com.pingpong.service.RateLimitService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 요청 수를 제한하는 글로벌 필터
+ *
+ * 인증된 요청은 JWT subject, 익명 요청은 client IP 기준으로 route별 token bucket을 적용
+ * 무효화 토큰 조회(Redis)나 upstream 호출보다 먼저 실행되어, 한도를 넘은 요청은 비용 없이 429로 거절
+ */
+@RequiredArgsConstructor
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtils jwtUtils;
+    private final RateLimitService rateLimitService;
+    private final RateLimitProperties properties;
+    private final GatewayMetrics gatewayMetrics;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        return gatewayMetrics.timeFilter("rate-limit", exchange, chain, this::filterRequest);
+    }
+
+    private Mono<Void> filterRequest(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long waitNanos = rateLimitService.tryAcquire(GatewayMetrics.routeId(exchange), resolveKey(exchange));
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+        return errorResponseWriter.write(exchange, ExceptionCode.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * 서명이 유효한 토큰이면 subject, 아니면 client IP를 제한 키로 사용
+     * 검증 결과는 exchange attribute에 저장되어 이후 JWT 필터에서 재사용
+     */
+    private String resolveKey(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            VerifiedToken verified = jwtUtils.resolve(exchange, authHeader.substring(BEARER_PREFIX.length()));
+            if (verified.getSubject() != null) {
+                return "user:" + verified.getSubject();
+            }
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return "ip:" + (remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress() : "unknown");
+    }
+
+    /**
+     * 무효화 토큰 필터(HIGHEST_PRECEDENCE + 10)보다 먼저 실행
+     * @return int 필터 순서
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 5;
+    }
+}
@@ -0,0 +1,341 @@
+package com.pingpong.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.common.JwtUtils;
+import com.pingpong.common.VerifiedToken;
+import com.pingpong.property.ResponseCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 멱등 GET 요청의 응답을 gateway에서 캐시하는 필터
+ *
+ * - 키: route id + 경로 + query + 설정된 요청 헤더 (+ per-user 설정 시 JWT subject)
+ * - 토큰 재발급 필터 이후에 실행되어 재발급된 토큰 기준으로 사용자를 구분하며, 사용할 수 없는 토큰의 요청은 캐시를 우회
+ * - 응답의 Cache-Control(no-store, private, max-age, s-maxage)을 따르고, Set-Cookie가 있는 응답은 캐시하지 않음
+ * - Vary 헤더에 지정된 요청 헤더 값이 저장 당시와 다르면 캐시를 사용하지 않음
+ * - If-None-Match가 저장된 ETag와 일치하면 304로 응답
+ * - 응답 body는 그대로 흘려보내면서 복사하며, max-entry-size를 넘으면 복사를 중단
+ * 적중률은 gateway.response-cache 지표로, 크기/eviction은 cache 지표로 노출
+ */
+@Component
+public class ResponseCacheFilter implements GatewayFilter, Ordered {
+
+    private final ResponseCacheProperties properties;
+    private final GatewayMetrics gatewayMetrics;
+    private final JwtUtils jwtUtils;
+    private final Cache<String, CachedResponse> cache;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, GatewayMetrics gatewayMetrics,
+                               JwtUtils jwtUtils, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.gatewayMetrics = gatewayMetrics;
+        this.jwtUtils = jwtUtils;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfter(new UntilStale())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response-cache");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        if (requestBypassesCache(request.getHeaders())) {
+            gatewayMetrics.recordResponseCache(exchange, "bypass");
+            return chain.filter(exchange);
+        }
+
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        String subject = null;
+        if (authorization != null) {
+            subject = subject(exchange, authorization);
+            if (subject == null) {
+                // 만료/위조 토큰을 익명 요청으로 취급하면 다른 사용자의 응답이 익명 키로 저장되거나 제공될 수 있음
+                gatewayMetrics.recordResponseCache(exchange, "bypass");
+                return chain.filter(exchange);
+            }
+        }
+        String key = cacheKey(exchange, subject);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh() && cached.matchesVary(request.getHeaders())) {
+            return serve(exchange, cached);
+        }
+
+        gatewayMetrics.recordResponseCache(exchange, "miss");
+        return chain.filter(exchange.mutate().response(new CapturingResponse(exchange, key, subject != null)).build());
+    }
+
+    /**
+     * 토큰 재발급 필터(JwtTokenRefreshFilter) 이후, upstream 응답을 쓰는 NettyWriteResponseFilter보다 먼저 실행되어야
+     * 재발급된 토큰으로 키를 만들고 응답 decorator가 적용됨
+     * @return int 필터 순서
+     */
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        long ageSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - cached.storedAtMillis);
+
+        if (cached.etag != null && ifNoneMatch != null && ifNoneMatch.contains(cached.etag)) {
+            gatewayMetrics.recordResponseCache(exchange, "not-modified");
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(cached.etag);
+            response.getHeaders().set(HttpHeaders.AGE, String.valueOf(ageSeconds));
+            return response.setComplete();
+        }
+
+        gatewayMetrics.recordResponseCache(exchange, "hit");
+        response.setRawStatusCode(cached.status);
+        response.getHeaders().putAll(cached.headers);
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(ageSeconds));
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body)));
+    }
+
+    private static boolean requestBypassesCache(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return (cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store")))
+                || "no-cache".equalsIgnoreCase(headers.getPragma());
+    }
+
+    /**
+     * 현재 Authorization 헤더(재발급된 경우 새 토큰)의 사용자
+     * @return 사용할 수 있는 토큰의 subject, 아니면 null
+     */
+    private String subject(ServerWebExchange exchange, String authorization) {
+        if (!authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        VerifiedToken verified = jwtUtils.resolve(exchange, authorization.substring(7));
+        return verified.isUsable() ? verified.getSubject() : null;
+    }
+
+    private String cacheKey(ServerWebExchange exchange, String subject) {
+        ServerHttpRequest request = exchange.getRequest();
+        StringBuilder key = new StringBuilder(128)
+                .append(GatewayMetrics.routeId(exchange)).append(' ')
+                .append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String header : properties.getKeyHeaders()) {
+            key.append('\n').append(header).append(':').append(request.getHeaders().getFirst(header));
+        }
+        if (properties.isPerUser()) {
+            key.append("\nuser:").append(subject != null ? subject : "");
+        }
+        return key.toString();
+    }
+
+    /**
+     * 응답을 클라이언트로 흘려보내면서 body를 복사하고, 캐시 가능한 응답이면 완료 시점에 저장
+     */
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final boolean authenticated;
+
+        CapturingResponse(ServerWebExchange exchange, String key, boolean authenticated) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.authenticated = authenticated;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            Long ttlMillis = cacheableTtlMillis();
+            if (ttlMillis == null) {
+                return super.writeWith(body);
+            }
+
+            // 바깥의 CompressionFilter가 super.writeWith 안에서 Content-Encoding 등을 바꾸기 전의 압축 전 헤더를 저장
+            int status = getRawStatusCode() != null ? getRawStatusCode() : HttpStatus.OK.value();
+            HttpHeaders responseHeaders = CachedResponse.copyOf(getHeaders());
+            long maxEntryBytes = properties.getMaxEntrySize().toBytes();
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            boolean[] overflow = {false};
+            Flux<DataBuffer> teed = Flux.from(body).doOnNext(buffer -> {
+                int length = buffer.readableByteCount();
+                if (overflow[0] || copy.size() + length > maxEntryBytes) {
+                    overflow[0] = true;
+                    return;
+                }
+                byte[] bytes = new byte[length];
+                buffer.asByteBuffer().get(bytes);
+                copy.write(bytes, 0, length);
+            }).doOnComplete(() -> {
+                if (!overflow[0]) {
+                    cache.put(key, new CachedResponse(status, responseHeaders, exchange.getRequest().getHeaders(),
+                            copy.toByteArray(), ttlMillis));
+                }
+            });
+            return super.writeWith(teed);
+        }
+
+        /**
+         * 응답의 상태 코드와 Cache-Control로 캐시 여부와 유효 시간을 결정
+         * @return 유효 시간(ms), 캐시하지 않으면 null
+         */
+        private Long cacheableTtlMillis() {
+            HttpStatus status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            if (status != HttpStatus.OK || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || headers.getVary().contains("*")) {
+                return null;
+            }
+
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl == null) {
+                long defaultTtl = properties.getDefaultTtl().toMillis();
+                return defaultTtl > 0 && !sharedCacheForbidden(false) ? defaultTtl : null;
+            }
+
+            String directives = cacheControl.toLowerCase(Locale.ROOT);
+            if (directives.contains("no-store") || directives.contains("no-cache")) {
+                return null;
+            }
+            if (directives.contains("private") && !(properties.isPerUser() && authenticated)) {
+                return null;
+            }
+            long sharedMaxAge = directive(directives, "s-maxage");
+            long maxAge = sharedMaxAge >= 0 ? sharedMaxAge : directive(directives, "max-age");
+            if (maxAge <= 0 || sharedCacheForbidden(sharedMaxAge >= 0 || directives.contains("public"))) {
+                return null;
+            }
+            return TimeUnit.SECONDS.toMillis(maxAge);
+        }
+
+        /**
+         * 사용자 구분 없이 공유되는 캐시는 Authorization 요청의 응답을 public/s-maxage 없이 저장하지 않음
+         */
+        private boolean sharedCacheForbidden(boolean explicitlyShareable) {
+            return !properties.isPerUser() && !explicitlyShareable
+                    && exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION);
+        }
+
+        private long directive(String directives, String name) {
+            int index = directives.indexOf(name + "=");
+            if (index < 0) {
+                return -1;
+            }
+            int start = index + name.length() + 1;
+            int end = start;
+            while (end < directives.length() && Character.isDigit(directives.charAt(end))) {
+                end++;
+            }
+            return end > start ? Long.parseLong(directives.substring(start, end)) : -1;
+        }
+    }
+
+    /**
+     * 캐시된 응답 (상태 코드, 헤더, body, Vary 대상 요청 헤더 값)
+     */
+    private static final class CachedResponse {
+
+        private final int status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final String etag;
+        private final List<String> varyHeaders;
+        private final List<String> varyValues;
+        private final long storedAtMillis;
+        private final long ttlMillis;
+
+        private CachedResponse(int status, HttpHeaders responseHeaders, HttpHeaders requestHeaders, byte[] body,
+                               long ttlMillis) {
+            this.status = status;
+            this.headers = HttpHeaders.readOnlyHttpHeaders(responseHeaders);
+            this.body = body;
+            this.etag = responseHeaders.getETag();
+            this.varyHeaders = Collections.unmodifiableList(new ArrayList<>(responseHeaders.getVary()));
+            this.varyValues = valuesOf(requestHeaders, varyHeaders);
+            this.storedAtMillis = System.currentTimeMillis();
+            this.ttlMillis = ttlMillis;
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() - storedAtMillis < ttlMillis;
+        }
+
+        private boolean matchesVary(HttpHeaders requestHeaders) {
+            return varyHeaders.isEmpty() || varyValues.equals(valuesOf(requestHeaders, varyHeaders));
+        }
+
+        private int weight() {
+            return body.length + headers.toString().length();
+        }
+
+        private static List<String> valuesOf(HttpHeaders headers, List<String> names) {
+            List<String> values = new ArrayList<>(names.size());
+            for (String name : names) {
+                values.add(String.valueOf(headers.get(name)));
+            }
+            return values;
+        }
+
+        private static HttpHeaders copyOf(HttpHeaders source) {
+            HttpHeaders copy = new HttpHeaders();
+            source.forEach((name, values) -> copy.put(name, new ArrayList<>(values)));
+            return copy;
+        }
+    }
+
+    /**
+     * 각 엔트리를 응답의 유효 시간이 끝나면 제거
+     */
+    private static class UntilStale implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(value.ttlMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.pingpong.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+
+/**
+ * 서비스 구분에 사용되는 첫 번째 경로 segment를 제거하는 필터
+ * 예) /core/employees -> /employees, /auth/ -> /
+ *
+ * 정규식(rewritePath)이나 split 없이 두 번째 '/' 위치만 찾아 잘라냄
+ */
+@Component
+public class ServicePrefixStripFilter implements GatewayFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        addOriginalRequestUrl(exchange, request.getURI());
+
+        String path = request.getURI().getRawPath();
+        int next = path.indexOf('/', 1);
+        String newPath = next < 0 ? "/" : path.substring(next);
+
+        ServerHttpRequest newRequest = request.mutate().path(newPath).build();
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, newRequest.getURI());
+        return chain.filter(exchange.mutate().request(newRequest).build());
+    }
+}
@@ -0,0 +1,299 @@
+package com.pingpong.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pingpong.common.BlockingScheduler;
+import com.pingpong.property.StaticAssetProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * 빌드된 frontend(SPA) 파일을 gateway에서 직접 제공하는 필터 (frontend route)
+ *
+ * - 파일 시스템의 파일은 zero-copy(sendfile)로 전송하고, jar(classpath) 안의 파일은 buffer로 읽어 전송
+ * - Accept-Encoding에 따라 미리 압축된 .br / .gz 파일이 있으면 해당 파일을 전송
+ * - 파일 이름에 content hash가 있으면 immutable cache, 나머지(index.html 등)는 매번 Last-Modified로 재검증
+ * - 확장자가 없는 경로(SPA 내부 경로)는 index.html로 응답하고, 없는 정적 파일은 404
+ * - 상위 디렉터리로 이동하는 경로는 decode 전/후 모두 거부하고, 찾은 파일이 location 밖이면 404
+ * 경로별 파일 조회 결과는 캐시하여 요청마다 파일 존재 여부를 다시 확인하지 않음
+ * - 파일 시스템 조회는 blocking 호출이므로 BlockingScheduler에서 실행
+ * - classpath가 아닌 location은 제자리 재배포로 파일이 바뀔 수 있으므로 조회 결과를 lookup-ttl 동안만 사용
+ * - 찾지 못한 결과는 캐시하지 않아 새로 추가된 파일을 바로 제공
+ */
+@Slf4j
+@Component
+public class StaticAssetFilter implements GatewayFilter {
+
+    private static final CacheControl NO_CACHE = CacheControl.noCache();
+    private static final Pattern REJECTED_QUALITY = Pattern.compile("q=0(\\.0*)?");
+
+    private final StaticAssetProperties properties;
+    private final BlockingScheduler blockingScheduler;
+    private final Resource root;
+    private final Pattern hashedFile;
+    private final CacheControl immutable;
+    private final Cache<String, Asset> lookups;
+
+    public StaticAssetFilter(StaticAssetProperties properties, ResourceLoader resourceLoader,
+                             BlockingScheduler blockingScheduler) {
+        this.properties = properties;
+        this.blockingScheduler = blockingScheduler;
+        String location = properties.getLocation();
+        this.root = resourceLoader.getResource(location.endsWith("/") ? location : location + "/");
+        this.hashedFile = Pattern.compile(properties.getHashedFilePattern());
+        this.immutable = CacheControl.maxAge(properties.getImmutableMaxAge()).cachePublic().immutable();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxCachedLookups());
+        if (!location.startsWith(ResourceLoader.CLASSPATH_URL_PREFIX)) {
+            builder.expireAfterWrite(properties.getLookupTtl());
+        }
+        this.lookups = builder.build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        setAlreadyRouted(exchange);
+        ServerHttpResponse response = exchange.getResponse();
+
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            response.setStatusCode(HttpStatus.METHOD_NOT_ALLOWED);
+            response.getHeaders().setAllow(Set.of(HttpMethod.GET, HttpMethod.HEAD));
+            return response.setComplete();
+        }
+
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (isInvalidPath(path)) {
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+            return response.setComplete();
+        }
+        String encoding = preferredEncoding(exchange.getRequest().getHeaders());
+        String key = path + '|' + encoding;
+        Asset cached = lookups.getIfPresent(key);
+        if (cached != null) {
+            return write(exchange, cached, method == HttpMethod.HEAD);
+        }
+        return blockingScheduler.call("static-asset", () -> resolve(path, encoding))
+                .flatMap(asset -> {
+                    if (asset.isEmpty()) {
+                        response.setStatusCode(HttpStatus.NOT_FOUND);
+                        return response.setComplete();
+                    }
+                    lookups.put(key, asset.get());
+                    return write(exchange, asset.get(), method == HttpMethod.HEAD);
+                });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Asset asset, boolean headOnly) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setCacheControl(asset.immutable ? immutable : NO_CACHE);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (exchange.checkNotModified(asset.lastModified)) {
+            return response.setComplete();
+        }
+
+        headers.setContentType(asset.mediaType);
+        headers.setContentLength(asset.length);
+        if (asset.encoding != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, asset.encoding);
+        }
+        if (headOnly) {
+            return response.setComplete();
+        }
+        if (asset.file != null && response instanceof ZeroCopyHttpOutputMessage) {
+            return ((ZeroCopyHttpOutputMessage) response).writeWith(asset.file, 0, asset.length);
+        }
+        return response.writeWith(DataBufferUtils.read(asset.resource, response.bufferFactory(), 64 * 1024));
+    }
+
+    /**
+     * 요청 경로에 해당하는 파일(또는 SPA fallback인 index.html)과 전송할 압축 variant를 찾음
+     */
+    private Optional<Asset> resolve(String path, String encoding) {
+        String relativePath = StringUtils.cleanPath(path.startsWith("/") ? path.substring(1) : path);
+        if (relativePath.isEmpty() || relativePath.endsWith("/")) {
+            relativePath = relativePath + properties.getIndexFile();
+        }
+
+        Optional<Asset> asset = find(relativePath, encoding);
+        if (asset.isEmpty() && StringUtils.getFilenameExtension(relativePath) == null) {
+            asset = find(properties.getIndexFile(), encoding);
+        }
+        return asset;
+    }
+
+    private Optional<Asset> find(String relativePath, String encoding) {
+        try {
+            Resource original = root.createRelative(relativePath);
+            if (!original.isReadable() || !isUnderRoot(original)) {
+                return Optional.empty();
+            }
+            MediaType mediaType = MediaTypeFactory.getMediaType(original).orElse(MediaType.APPLICATION_OCTET_STREAM);
+            boolean immutable = hashedFile.matcher(relativePath).matches();
+
+            for (String candidate : encodingsToTry(encoding)) {
+                Resource variant = root.createRelative(relativePath + extension(candidate));
+                if (variant.isReadable() && isUnderRoot(variant)) {
+                    return Optional.of(new Asset(variant, mediaType, candidate, immutable));
+                }
+            }
+            return Optional.of(new Asset(original, mediaType, null, immutable));
+        } catch (IOException e) {
+            log.warn("Failed to resolve static asset {}: {}", relativePath, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 찾은 파일의 정규화된 경로가 location 안에 있는지 확인
+     */
+    private boolean isUnderRoot(Resource resource) throws IOException {
+        if (resource.isFile() && root.isFile()) {
+            return resource.getFile().toPath().normalize().startsWith(root.getFile().toPath().normalize());
+        }
+        return StringUtils.cleanPath(resource.getURL().toExternalForm())
+                .startsWith(StringUtils.cleanPath(root.getURL().toExternalForm()));
+    }
+
+    /**
+     * ResourceWebHandler의 isInvalidPath / isInvalidEncodedPath와 같이 경로를 검사
+     * 인코딩된 경로(%2e%2e, 이중 인코딩 %252e%252e)는 decode한 결과도 검사
+     */
+    private static boolean isInvalidPath(String path) {
+        if (hasInvalidSegment(path)) {
+            return true;
+        }
+        String decoded = path;
+        for (int i = 0; i < 2 && decoded.indexOf('%') >= 0; i++) {
+            try {
+                decoded = StringUtils.uriDecode(decoded, StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                // 처음 decode부터 실패하면 잘못된 인코딩, 두 번째는 파일 이름의 '%' 문자
+                return i == 0;
+            }
+            if (hasInvalidSegment(decoded)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasInvalidSegment(String path) {
+        if (path.indexOf('\\') >= 0 || path.indexOf('\0') >= 0) {
+            return true;
+        }
+        if (path.contains("WEB-INF") || path.contains("META-INF")) {
+            return true;
+        }
+        if (path.contains(":/")) {
+            String relativePath = path.startsWith("/") ? path.substring(1) : path;
+            if (ResourceUtils.isUrl(relativePath) || relativePath.startsWith("url:")) {
+                return true;
+            }
+        }
+        for (String segment : StringUtils.delimitedListToStringArray(path, "/")) {
+            if ("..".equals(segment.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 클라이언트가 받을 수 있는 압축 방식 중 br, gzip 순으로 선택 (q=0으로 거부한 방식은 제외)
+     */
+    private static String preferredEncoding(HttpHeaders headers) {
+        String acceptEncoding = headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return "identity";
+        }
+        boolean br = false;
+        boolean gzip = false;
+        for (String token : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            String[] parts = StringUtils.tokenizeToStringArray(token, ";");
+            boolean rejected = parts.length > 1 && REJECTED_QUALITY.matcher(parts[1].replace(" ", "")).matches();
+            if ("br".equalsIgnoreCase(parts[0])) {
+                br = !rejected;
+            } else if ("gzip".equalsIgnoreCase(parts[0])) {
+                gzip = !rejected;
+            }
+        }
+        if (br) {
+            return gzip ? "br,gzip" : "br";
+        }
+        return gzip ? "gzip" : "identity";
+    }
+
+    private static List<String> encodingsToTry(String encoding) {
+        switch (encoding) {
+            case "br,gzip":
+                return List.of("br", "gzip");
+            case "br":
+                return List.of("br");
+            case "gzip":
+                return List.of("gzip");
+            default:
+                return List.of();
+        }
+    }
+
+    private static String extension(String encoding) {
+        return "br".equals(encoding) ? ".br" : ".gz";
+    }
+
+    /**
+     * 전송할 파일과 응답 header 정보
+     */
+    private static final class Asset {
+
+        private final Resource resource;
+        private final File file;
+        private final MediaType mediaType;
+        private final String encoding;
+        private final boolean immutable;
+        private final long length;
+        private final Instant lastModified;
+
+        private Asset(Resource resource, MediaType mediaType, String encoding, boolean immutable) throws IOException {
+            this.resource = resource;
+            this.file = resource.isFile() ? resource.getFile() : null;
+            this.mediaType = mediaType;
+            this.encoding = encoding;
+            this.immutable = immutable;
+            this.length = resource.contentLength();
+            this.lastModified = Instant.ofEpochMilli(resource.lastModified());
+        }
+    }
+}
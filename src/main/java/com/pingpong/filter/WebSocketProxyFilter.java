@@ -0,0 +1,228 @@
+package com.pingpong.filter;
+
+import com.pingpong.property.LongLivedConnectionProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.WebsocketRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * 장기 연결 route(LongLivedConnectionFilter)의 WebSocket 연결을 서비스로 proxy 하는 글로벌 필터
+ *
+ * 기본 WebsocketRoutingFilter와 같이 frame을 그대로 전달하되 (Reactor backpressure를 따라 상대가 읽는 만큼만 전달)
+ * - 유휴 상태의 클라이언트에 ping을 보내고, idle-timeout 동안 양방향 frame(pong 포함)이 없으면 연결을 닫음
+ * - 연결에 사용한 JWT가 만료되면 양쪽 연결을 닫음 (JWT 필터는 handshake 시점에만 실행되므로)
+ * - 방향별 frame 수를 기록
+ * frame 크기 제한은 spring.cloud.gateway.httpclient.websocket.max-frame-payload-length 설정을 따름
+ */
+@Component
+public class WebSocketProxyFilter implements GlobalFilter, Ordered {
+
+    private final LongLivedConnectionProperties properties;
+    private final WebSocketClient webSocketClient;
+    private final WebSocketService webSocketService;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+
+    public WebSocketProxyFilter(LongLivedConnectionProperties properties, WebSocketClient webSocketClient,
+                                WebSocketService webSocketService, ObjectProvider<List<HttpHeadersFilter>> headersFilters) {
+        this.properties = properties;
+        this.webSocketClient = webSocketClient;
+        this.webSocketService = webSocketService;
+        this.headersFilters = headersFilters;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        LongLivedConnection connection = exchange.getAttribute(LongLivedConnection.ATTRIBUTE);
+        URI requestUrl = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (connection == null || !LongLivedConnection.WEBSOCKET.equals(connection.getType())
+                || requestUrl == null || isAlreadyRouted(exchange)) {
+            return chain.filter(exchange);
+        }
+        String scheme = requestUrl.getScheme();
+        if (!"http".equals(scheme) && !"https".equals(scheme) && !"ws".equals(scheme) && !"wss".equals(scheme)) {
+            return chain.filter(exchange);
+        }
+        setAlreadyRouted(exchange);
+
+        URI upstreamUrl = UriComponentsBuilder.fromUri(requestUrl)
+                .scheme("https".equals(scheme) || "wss".equals(scheme) ? "wss" : "ws")
+                .build(true)
+                .toUri();
+        return webSocketService.handleRequest(exchange, new ProxyHandler(upstreamUrl, upstreamHeaders(exchange),
+                protocols(exchange.getRequest().getHeaders()), connection));
+    }
+
+    /**
+     * 기본 WebsocketRoutingFilter보다 먼저 실행
+     * @return int 필터 순서
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 2;
+    }
+
+    /**
+     * handshake 관련 header(Sec-WebSocket-*)는 WebSocket client가 다시 만들기 때문에 제외
+     */
+    private HttpHeaders upstreamHeaders(ServerWebExchange exchange) {
+        HttpHeaders filtered = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+        HttpHeaders headers = new HttpHeaders();
+        filtered.forEach((name, values) -> {
+            if (!name.toLowerCase(Locale.ROOT).startsWith("sec-websocket")) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    private static List<String> protocols(HttpHeaders headers) {
+        List<String> protocols = new ArrayList<>();
+        for (String value : headers.getOrEmpty(WebsocketRoutingFilter.SEC_WEBSOCKET_PROTOCOL)) {
+            for (String protocol : StringUtils.tokenizeToStringArray(value, ",")) {
+                protocols.add(protocol);
+            }
+        }
+        return protocols;
+    }
+
+    /**
+     * 클라이언트 session과 서비스 session 사이에서 frame을 전달하는 handler
+     */
+    private class ProxyHandler implements WebSocketHandler {
+
+        private final URI url;
+        private final HttpHeaders headers;
+        private final List<String> subProtocols;
+        private final LongLivedConnection connection;
+
+        ProxyHandler(URI url, HttpHeaders headers, List<String> subProtocols, LongLivedConnection connection) {
+            this.url = url;
+            this.headers = headers;
+            this.subProtocols = subProtocols;
+            this.connection = connection;
+        }
+
+        @Override
+        public List<String> getSubProtocols() {
+            return subProtocols;
+        }
+
+        /**
+         * handshake가 끝나 session이 열릴 때 호출되며, 양쪽 session이 닫힐 때 연결 슬롯과 열린 연결 수를 반환
+         */
+        @Override
+        public Mono<Void> handle(WebSocketSession session) {
+            connection.open();
+            return webSocketClient.execute(url, headers, new WebSocketHandler() {
+                @Override
+                public Mono<Void> handle(WebSocketSession proxySession) {
+                    Flux<WebSocketMessage> fromClient = session.receive()
+                            .doOnNext(message -> {
+                                message.retain();
+                                connection.inbound();
+                            });
+                    Flux<WebSocketMessage> fromService = proxySession.receive()
+                            .doOnNext(message -> {
+                                message.retain();
+                                connection.outbound();
+                            });
+
+                    Mono<Void> serverClose = proxySession.closeStatus()
+                            .filter(status -> session.isOpen())
+                            .flatMap(status -> session.close(adapt(status)));
+                    Mono<Void> proxyClose = session.closeStatus()
+                            .filter(status -> proxySession.isOpen())
+                            .flatMap(status -> proxySession.close(adapt(status)));
+
+                    return Mono.when(
+                            proxySession.send(fromClient),
+                            session.send(Flux.merge(fromService, heartbeats(session, proxySession))),
+                            serverClose,
+                            proxyClose);
+                }
+
+                @Override
+                public List<String> getSubProtocols() {
+                    return subProtocols;
+                }
+            }).doFinally(signal -> connection.close());
+        }
+
+        /**
+         * heartbeat 간격마다 유휴 클라이언트에 ping을 보내고, idle timeout / 토큰 만료 시 양쪽 연결을 닫음
+         */
+        private Flux<WebSocketMessage> heartbeats(WebSocketSession session, WebSocketSession proxySession) {
+            long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+            long idleTimeoutMillis = properties.getIdleTimeout().toMillis();
+            return Flux.interval(properties.getHeartbeatInterval())
+                    .takeUntilOther(session.closeStatus().then(Mono.just(true)))
+                    .concatMap(tick -> {
+                        long idleMillis = connection.idleMillis();
+                        if (connection.isTokenExpired()) {
+                            return closeBoth(session, proxySession, CloseStatus.POLICY_VIOLATION.withReason("Token has expired"));
+                        }
+                        if (idleTimeoutMillis > 0 && idleMillis >= idleTimeoutMillis) {
+                            return closeBoth(session, proxySession, CloseStatus.GOING_AWAY.withReason("Idle timeout"));
+                        }
+                        if (idleMillis >= heartbeatMillis) {
+                            return Mono.just(session.pingMessage(factory -> factory.wrap(new byte[0])));
+                        }
+                        return Mono.empty();
+                    });
+        }
+
+        private Mono<WebSocketMessage> closeBoth(WebSocketSession session, WebSocketSession proxySession,
+                                                 CloseStatus status) {
+            return Mono.when(session.close(status), proxySession.close(CloseStatus.GOING_AWAY)).then(Mono.empty());
+        }
+
+        /**
+         * 전송할 수 없는 예약 close code(1005, 1006, 1015 등)는 protocol error로 바꿈
+         */
+        private CloseStatus adapt(CloseStatus status) {
+            int code = status.getCode();
+            if (code >= 3000 && code < 5000) {
+                return status;
+            }
+            switch (code) {
+                case 1000:
+                case 1001:
+                case 1002:
+                case 1003:
+                case 1007:
+                case 1008:
+                case 1009:
+                case 1010:
+                case 1011:
+                    return status;
+                default:
+                    return CloseStatus.PROTOCOL_ERROR;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.pingpong.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * event loop 밖에서 실행해야 하는 blocking 작업(동기 Redis repository 호출 등)의 scheduler 설정
+ *
+ * thread-cap: blocking 작업을 실행하는 최대 thread 수
+ * queue-cap: 실행을 기다릴 수 있는 전체 최대 작업 수 (thread마다 queue-cap / thread-cap개, 최소 1개씩 나누어 적용, 초과 시 503으로 거절)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.blocking")
+public class BlockingSchedulerProperties {
+
+    private int threadCap = 16;
+    private int queueCap = 256;
+}
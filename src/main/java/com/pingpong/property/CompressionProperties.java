@@ -0,0 +1,48 @@
+package com.pingpong.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * gateway 응답 압축(gzip) 설정
+ *
+ * level: 압축 수준 (1: 빠름 ~ 9: 작음)
+ * pool-size: 재사용할 압축기(Deflater) 수
+ * gateway.compression.routes.{routeId}: route 별 압축 정책, 설정이 없는 route는 default-policy를 사용
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+    private int level = 6;
+    private int poolSize = 64;
+    private Policy defaultPolicy = new Policy();
+    private Map<String, Policy> routes = new HashMap<>();
+
+    public Policy policyFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultPolicy);
+    }
+
+    /**
+     * min-size: Content-Length가 이보다 작은 응답은 압축하지 않음
+     * content-types: 압축할 Content-Type (text/* 처럼 wildcard 허용)
+     */
+    @Getter
+    @Setter
+    public static class Policy {
+        private boolean enabled = true;
+        private DataSize minSize = DataSize.ofKilobytes(1);
+        private List<String> contentTypes = new ArrayList<>(List.of(
+                "application/json", "application/problem+json", "application/javascript",
+                "application/xml", "text/*", "image/svg+xml"));
+    }
+}
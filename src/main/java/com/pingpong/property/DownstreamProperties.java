@@ -0,0 +1,45 @@
+package com.pingpong.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * downstream 서비스(lb://)별 adaptive concurrency limit 및 circuit breaker 설정
+ *
+ * limit: 동시 요청 한도의 초기값/범위와 gradient 계산 값
+ * circuit-breaker: 실패율 기준 차단 조건과 차단 유지 시간
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.downstream")
+public class DownstreamProperties {
+
+    private boolean enabled = true;
+    private Limit limit = new Limit();
+    private Breaker circuitBreaker = new Breaker();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int initial = 20;
+        private int min = 4;
+        private int max = 1000;
+        // 최근 응답 시간이 장기 평균의 몇 배까지 느려지는 것을 허용할지
+        private double tolerance = 2.0;
+        private double smoothing = 0.2;
+        private double backoffRatio = 0.9;
+    }
+
+    @Getter
+    @Setter
+    public static class Breaker {
+        private int failureRateThreshold = 50;
+        private int slidingWindowSize = 100;
+        private int minimumCalls = 20;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 5;
+    }
+}
@@ -0,0 +1,37 @@
+package com.pingpong.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 멱등 GET 요청의 hedged request 및 retry budget 설정
+ *
+ * hedge는 route metadata(hedge: true)로 route 별로 선택
+ * quantile: 두 번째 요청을 보내기까지 기다릴 응답 시간 분위수 (route 별로 관측)
+ * min-delay / max-delay: 추정된 지연 시간의 하한/상한
+ * min-samples: 추정값을 사용하기까지 필요한 응답 수 (그 전에는 hedge 하지 않음)
+ * budget.ratio: 원래 요청 대비 허용할 추가 요청 비율 (0.1 = 최대 10% 추가 부하)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.hedge")
+public class HedgeProperties {
+
+    private boolean enabled = true;
+    private double quantile = 0.95;
+    private Duration minDelay = Duration.ofMillis(10);
+    private Duration maxDelay = Duration.ofSeconds(1);
+    private int sampleSize = 1024;
+    private int minSamples = 100;
+    private Budget budget = new Budget();
+
+    @Getter
+    @Setter
+    public static class Budget {
+        private double ratio = 0.1;
+        private long maxBalance = 100;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pingpong.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * gateway가 검증한 JWT의 사용자 정보를 서비스로 전달하는 header 설정
+ *
+ * secret: gateway와 서비스가 공유하는 HMAC-SHA256 key (enabled이면 필수)
+ * roles-claim: 역할 목록을 담은 JWT claim 이름 (배열 또는 쉼표로 구분한 문자열)
+ * strip-authorization: identity header를 붙인 요청에서 원본 Authorization header를 제거
+ * keep-authorization-routes: strip-authorization이어도 원본 토큰을 전달할 route (로그아웃 등 토큰 자체가 필요한 경우)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.identity")
+public class IdentityHeaderProperties {
+
+    private boolean enabled = false;
+    private String secret;
+    private String rolesClaim = "roles";
+    private boolean stripAuthorization = false;
+    private Set<String> keepAuthorizationRoutes = new HashSet<>(Set.of("auth-api-protected"));
+    private Headers headers = new Headers();
+
+    @Getter
+    @Setter
+    public static class Headers {
+        private String userId = "X-User-Id";
+        private String roles = "X-User-Roles";
+        private String expires = "X-User-Expires";
+        private String signature = "X-User-Signature";
+    }
+}
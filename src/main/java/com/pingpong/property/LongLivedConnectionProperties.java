@@ -0,0 +1,27 @@
+package com.pingpong.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * WebSocket / SSE 장기 연결 설정 (route metadata long-lived: true인 route)
+ *
+ * max-connections-per-user: 사용자(JWT subject, 없으면 client IP)별 동시 연결 수
+ * idle-timeout: 양방향으로 데이터가 없으면 연결을 닫는 시간 (0이면 사용하지 않음)
+ * heartbeat-interval: 유휴 연결에 WebSocket ping / SSE comment를 보내는 간격 (끊어진 클라이언트 감지)
+ * close-on-token-expiry: 연결에 사용한 JWT가 만료되는 시점에 연결을 닫음
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.long-lived")
+public class LongLivedConnectionProperties {
+
+    private boolean enabled = true;
+    private int maxConnectionsPerUser = 10;
+    private Duration idleTimeout = Duration.ofMinutes(5);
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+    private boolean closeOnTokenExpiry = true;
+}
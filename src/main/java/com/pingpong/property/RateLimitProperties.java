@@ -0,0 +1,49 @@
+package com.pingpong.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 사용자별 요청 제한(token bucket) 설정
+ *
+ * gateway.rate-limit.routes.{routeId}.capacity: 순간적으로 허용하는 최대 요청 수 (bucket 크기)
+ * gateway.rate-limit.routes.{routeId}.refill-per-second: 초당 보충되는 요청 수
+ * 설정이 없는 route는 default-limit을 사용하고, default-limit도 없으면 제한하지 않음
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Limit defaultLimit;
+    private Map<String, Limit> routes = new HashMap<>();
+    private long maxTrackedKeys = 100_000;
+    private Sync sync = new Sync();
+
+    public Limit limitFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultLimit);
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private long capacity = 50;
+        private double refillPerSecond = 10;
+    }
+
+    /**
+     * 여러 gateway 노드의 사용량을 Redis로 주기적으로 합산하여 전체 한도를 맞추는 설정 (선택)
+     */
+    @Getter
+    @Setter
+    public static class Sync {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,32 @@
+package com.pingpong.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 멱등 GET 응답 캐시 설정
+ *
+ * max-size: 캐시 전체 크기 (body + header 바이트 기준)
+ * max-entry-size: 이보다 큰 응답은 캐시하지 않음
+ * default-ttl: 응답에 Cache-Control이 없을 때 사용할 유효 시간 (0이면 Cache-Control이 있는 응답만 캐시)
+ * key-headers: 캐시 키에 포함할 요청 헤더
+ * per-user: 캐시 키에 JWT subject를 포함 (사용자별 데이터, Cache-Control: private 응답 허용)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    private DataSize maxEntrySize = DataSize.ofKilobytes(512);
+    private Duration defaultTtl = Duration.ZERO;
+    private List<String> keyHeaders = new ArrayList<>(List.of("Accept", "Accept-Language"));
+    private boolean perUser = true;
+}
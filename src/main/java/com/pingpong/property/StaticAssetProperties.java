@@ -0,0 +1,31 @@
+package com.pingpong.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 빌드된 frontend(SPA) 정적 파일 제공 설정
+ *
+ * enabled가 false이면 기존처럼 dev-server-uri(Vite dev server)로 proxy
+ * location: 빌드 결과 디렉터리 또는 classpath 위치 (예: file:/app/frontend/, classpath:/static/)
+ * hashed-file-pattern: 파일 이름에 content hash가 포함된 파일 (immutable cache 적용, 기본값은 Vite 빌드의 assets/name-hash.ext)
+ * immutable-max-age: hash가 포함된 파일의 캐시 유효 시간
+ * lookup-ttl: classpath가 아닌 location(배포 중 파일이 바뀔 수 있음)에서 파일 조회 결과(크기, 수정 시간)를 재사용할 시간
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.static-assets")
+public class StaticAssetProperties {
+
+    private boolean enabled = false;
+    private String devServerUri = "http://localhost:5173";
+    private String location = "classpath:/static/";
+    private String indexFile = "index.html";
+    private String hashedFilePattern = "assets/.+-[A-Za-z0-9_-]{8}\\.[A-Za-z0-9]+";
+    private Duration immutableMaxAge = Duration.ofDays(365);
+    private long maxCachedLookups = 10_000;
+    private Duration lookupTtl = Duration.ofSeconds(5);
+}
@@ -1,10 +1,10 @@
 package com.pingpong.repository;
 
 import com.pingpong.entity.RefreshToken;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.CrudRepository;
 
 import java.util.Optional;
 
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String>, RefreshTokenRepositoryCustom {
+public interface RefreshTokenRepository extends CrudRepository<RefreshToken, String>, RefreshTokenRepositoryCustom {
     Optional<RefreshToken> findByUuid(String uuid);
 }
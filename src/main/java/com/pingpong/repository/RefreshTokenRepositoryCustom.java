@@ -1,13 +1,43 @@
 package com.pingpong.repository;
 
 import com.pingpong.entity.RefreshToken;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * RefreshToken을 Redis에 저장, 조회, 삭제하는 Custom Repository
- * JPA Repository와 함께 사용되어 RefreshToken의 Redis 관련 작업을 처리합니다.
+ * Redis Repository(RefreshTokenRepository)와 함께 사용되어 RefreshToken의 Redis 관련 작업을 처리합니다.
  */
 public interface RefreshTokenRepositoryCustom {
     void saveWithExpiration(RefreshToken refreshToken);
     RefreshToken findByTokenInRedis(String token);
     void deleteByTokenInRedis(String token);
+
+    /**
+     * 여러 RefreshToken을 하나의 연결에서 pipeline으로 저장
+     * @param refreshTokens 저장할 RefreshToken 목록
+     */
+    void saveAllWithExpiration(Collection<RefreshToken> refreshTokens);
+
+    /**
+     * 여러 토큰을 HGETALL pipeline 한 번으로 조회
+     * @param tokens 조회할 토큰 목록
+     * @return 존재하는 RefreshToken 목록
+     */
+    List<RefreshToken> findAllByTokenInRedis(Collection<String> tokens);
+
+    /**
+     * 여러 토큰과 uuid index 항목을 pipeline으로 삭제 (로그아웃 시 전체 세션 무효화 등)
+     * @param tokens 삭제할 토큰 목록
+     */
+    void deleteAllByTokenInRedis(Collection<String> tokens);
+
+    /**
+     * uuid로 RefreshToken이 존재하는지 uuid 키 EXISTS(없으면 크기를 제한한 uuid index 확인)로 non-blocking 확인
+     * @param uuid RefreshToken의 uuid
+     * @return 존재하면 true
+     */
+    Mono<Boolean> existsByUuidInRedis(String uuid);
 }
@@ -1,60 +1,213 @@
 package com.pingpong.repository;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pingpong.entity.RefreshToken;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
 
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * RefreshTokenRepositoryCustom 인터페이스의 구현 클래스
  * Redis를 사용하여 RefreshToken을 저장, 조회, 삭제하는 기능을 제공
+ *
+ * AUTH-API의 @RedisHash("RefreshTokens") repository와 같은 형식으로 저장하여 어느 쪽에서 저장한 토큰도 서로 조회/삭제 가능
+ * - RefreshTokens:{token}: hash (_class, token, uuid)
+ * - RefreshTokens:uuid:{uuid}: uuid secondary index (SET), RefreshTokens:{token}:idx: 토큰이 속한 index 목록
+ * - RefreshTokens: 전체 토큰 id 목록 (SET)
+ * 여러 토큰은 pipeline으로 한 번에 처리 (저장: HSET + SADD, 조회: HGETALL, 삭제: HGET 후 DEL + SREM)
  */
 @Repository
 public class RefreshTokenRepositoryCustomImpl implements RefreshTokenRepositoryCustom {
 
+    private static final String KEYSPACE = "RefreshTokens";
+    private static final String KEY_PREFIX = KEYSPACE + ":";
+    private static final String UUID_KEY_PREFIX = "RefreshTokenUuids:";
+    /**
+     * @RedisHash repository가 @Indexed uuid로 만드는 secondary index (SET)
+     */
+    private static final String UUID_INDEX_PREFIX = KEY_PREFIX + "uuid:";
+    /**
+     * uuid index에서 한 번에 확인할 최대 항목 수 (만료 항목은 확인할 때마다 정리되므로 다음 확인에서 나머지를 확인)
+     */
+    private static final int MAX_INDEX_CHECKS = 16;
+    private static final byte[] CLASS_FIELD = bytes("_class");
+    private static final byte[] TOKEN_FIELD = bytes("token");
+    private static final byte[] UUID_FIELD = bytes("uuid");
+    private static final byte[] CLASS_NAME = bytes(RefreshToken.class.getName());
+
     private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
     private final long expirationSeconds;
 
     public RefreshTokenRepositoryCustomImpl(RedisTemplate<String, String> redisTemplate,
-                                            ObjectMapper objectMapper,
+                                            ReactiveStringRedisTemplate reactiveRedisTemplate,
                                             @Value("${jwt.refresh-token-expiration-minutes}") long expirationSeconds) {
         this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
         this.expirationSeconds = expirationSeconds;
     }
 
+    /**
+     * RefreshToken hash와 uuid index, uuid 존재 확인용 키(RefreshTokenUuids:{uuid})를 같은 만료 시간으로 저장
+     */
     @Override
     public void saveWithExpiration(RefreshToken refreshToken) {
-        String key = "RefreshTokens:" + refreshToken.getToken();
+        saveAllWithExpiration(Collections.singletonList(refreshToken));
+    }
+
+    @Override
+    public void saveAllWithExpiration(Collection<RefreshToken> refreshTokens) {
+        if (refreshTokens.isEmpty()) {
+            return;
+        }
         try {
-            String value = objectMapper.writeValueAsString(refreshToken);
-            redisTemplate.opsForValue().set(key, value, expirationSeconds, TimeUnit.SECONDS);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (RefreshToken refreshToken : refreshTokens) {
+                    save(connection, refreshToken);
+                }
+                return null;
+            });
         } catch (Exception e) {
             throw new RuntimeException("Failed to save refresh token", e);
         }
     }
 
+    private void save(RedisConnection connection, RefreshToken refreshToken) {
+        String token = refreshToken.getToken();
+        String uuid = refreshToken.getUuid();
+        byte[] key = bytes(KEY_PREFIX + token);
+
+        connection.keyCommands().del(key);
+        connection.hashCommands().hMSet(key, uuid != null
+                ? Map.of(CLASS_FIELD, CLASS_NAME, TOKEN_FIELD, bytes(token), UUID_FIELD, bytes(uuid))
+                : Map.of(CLASS_FIELD, CLASS_NAME, TOKEN_FIELD, bytes(token)));
+        connection.keyCommands().expire(key, expirationSeconds);
+        connection.setCommands().sAdd(bytes(KEYSPACE), bytes(token));
+        if (uuid != null) {
+            String indexKey = UUID_INDEX_PREFIX + uuid;
+            connection.setCommands().sAdd(bytes(indexKey), bytes(token));
+            connection.setCommands().sAdd(bytes(KEY_PREFIX + token + ":idx"), bytes(indexKey));
+            connection.stringCommands().setEx(bytes(UUID_KEY_PREFIX + uuid), expirationSeconds, bytes(token));
+        }
+    }
+
     @Override
     public RefreshToken findByTokenInRedis(String token) {
-        String key = "RefreshTokens:" + token;
-        String value = redisTemplate.opsForValue().get(key);
-        if (value == null) {
-            return null;
+        List<RefreshToken> found = findAllByTokenInRedis(Collections.singletonList(token));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<RefreshToken> findAllByTokenInRedis(Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
         }
-        try {
-            return objectMapper.readValue(value, RefreshToken.class);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse refresh token", e);
+        List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String token : tokens) {
+                connection.hashCommands().hGetAll(bytes(KEY_PREFIX + token));
+            }
+            return null;
+        }, RedisSerializer.string());
+
+        List<RefreshToken> refreshTokens = new ArrayList<>(hashes.size());
+        Iterator<String> tokenIterator = tokens.iterator();
+        for (Object hash : hashes) {
+            String token = tokenIterator.next();
+            Map<String, String> fields = (Map<String, String>) hash;
+            if (fields != null && !fields.isEmpty()) {
+                refreshTokens.add(RefreshToken.builder()
+                        .token(token)
+                        .uuid(fields.get("uuid"))
+                        .build());
+            }
         }
+        return refreshTokens;
     }
 
     @Override
     public void deleteByTokenInRedis(String token) {
-        String key = "RefreshTokens:" + token;
-        redisTemplate.delete(key);
+        deleteAllByTokenInRedis(Collections.singletonList(token));
+    }
+
+    /**
+     * uuid를 조회(HGET pipeline)한 뒤 hash, index 항목, uuid 키를 한 번의 pipeline으로 삭제
+     */
+    @Override
+    public void deleteAllByTokenInRedis(Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        List<Object> uuids = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String token : tokens) {
+                connection.hashCommands().hGet(bytes(KEY_PREFIX + token), UUID_FIELD);
+            }
+            return null;
+        }, RedisSerializer.string());
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            Iterator<Object> uuidIterator = uuids.iterator();
+            for (String token : tokens) {
+                Object uuid = uuidIterator.next();
+                connection.keyCommands().del(bytes(KEY_PREFIX + token), bytes(KEY_PREFIX + token + ":idx"),
+                        bytes(KEY_PREFIX + token + ":phantom"));
+                connection.setCommands().sRem(bytes(KEYSPACE), bytes(token));
+                if (uuid != null) {
+                    connection.setCommands().sRem(bytes(UUID_INDEX_PREFIX + uuid), bytes(token));
+                    connection.keyCommands().del(bytes(UUID_KEY_PREFIX + uuid));
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * uuid의 RefreshToken이 존재하는지 확인
+     * 1. uuid 키(RefreshTokenUuids:{uuid})를 EXISTS 한 번으로 확인 (이 키를 저장하는 쪽에서만 O(1))
+     * 2. 없으면 repository의 uuid index(RefreshTokens:uuid:{uuid})에서 최대 MAX_INDEX_CHECKS개를 꺼내 hash 존재 여부를 동시에 확인
+     *    TTL로 만료되어 hash가 없는 index 항목은 SREM으로 정리하여 index가 계속 커지지 않도록 하고,
+     *    꺼낸 항목이 모두 만료였으면 정리 후 남은 항목을 다시 확인
+     */
+    @Override
+    public Mono<Boolean> existsByUuidInRedis(String uuid) {
+        return reactiveRedisTemplate.hasKey(UUID_KEY_PREFIX + uuid)
+                .flatMap(exists -> exists ? Mono.just(true) : existsInIndex(UUID_INDEX_PREFIX + uuid));
+    }
+
+    private Mono<Boolean> existsInIndex(String indexKey) {
+        return reactiveRedisTemplate.opsForSet().distinctRandomMembers(indexKey, MAX_INDEX_CHECKS)
+                // 같은 연결의 명령은 응답을 기다리지 않고 이어서 전송(pipeline)됨
+                .flatMap(token -> reactiveRedisTemplate.hasKey(KEY_PREFIX + token)
+                        .map(exists -> exists ? "" : token), MAX_INDEX_CHECKS)
+                .collectList()
+                .flatMap(results -> {
+                    boolean exists = results.contains("");
+                    Object[] expired = results.stream().filter(token -> !token.isEmpty()).toArray();
+                    if (expired.length == 0) {
+                        return Mono.just(exists);
+                    }
+                    Mono<Long> prune = reactiveRedisTemplate.opsForSet().remove(indexKey, expired);
+                    if (!exists && results.size() == MAX_INDEX_CHECKS) {
+                        // 확인한 항목이 모두 만료였으면 정리한 뒤 남은 항목을 다시 확인
+                        return prune.then(existsInIndex(indexKey));
+                    }
+                    return prune.onErrorResume(e -> Mono.just(0L)).thenReturn(exists);
+                });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package com.pingpong.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pingpong.common.TokenBucket;
+import com.pingpong.property.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * route + 사용자(또는 IP) 단위 token bucket을 관리하는 서비스
+ *
+ * 판단은 로컬 bucket만으로 수행하여 요청 경로에서 Redis를 사용하지 않음
+ * gateway.rate-limit.sync.enabled 이면 주기적으로 각 노드의 사용량을 Redis에 합산하고,
+ * 다른 노드에서 사용한 만큼 로컬 bucket에서 차감하여 전체 한도를 근사적으로 맞춤
+ */
+@Slf4j
+@Service
+public class RateLimitService {
+
+    private static final String KEY_PREFIX = "RateLimit:";
+
+    private final RateLimitProperties properties;
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final Cache<String, TokenBucket> buckets;
+
+    private Disposable syncTask;
+
+    public RateLimitService(RateLimitProperties properties, ReactiveStringRedisTemplate reactiveRedisTemplate) {
+        this.properties = properties;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    @PostConstruct
+    public void startSync() {
+        if (!properties.getSync().isEnabled()) {
+            return;
+        }
+        Duration interval = properties.getSync().getInterval();
+        syncTask = Flux.interval(interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sync(interval)
+                        .onErrorResume(e -> {
+                            log.warn("Rate limit sync failed: {}", e.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopSync() {
+        if (syncTask != null) {
+            syncTask.dispose();
+        }
+    }
+
+    /**
+     * 요청을 허용할지 판단
+     * @param routeId route id
+     * @param key 사용자 식별자 (JWT subject 또는 client IP)
+     * @return 허용되면 0, 거절되면 다시 시도할 수 있을 때까지 남은 nanos
+     */
+    public long tryAcquire(String routeId, String key) {
+        RateLimitProperties.Limit limit = properties.limitFor(routeId);
+        if (limit == null) {
+            return 0;
+        }
+        TokenBucket bucket = buckets.get(routeId + '|' + key,
+                ignored -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond()));
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * 이 노드의 사용량을 Redis에 더하고, 전체 사용량이 구간 한도를 넘은 만큼 로컬 bucket에서 차감
+     */
+    private Mono<Void> sync(Duration interval) {
+        long window = System.currentTimeMillis() / interval.toMillis();
+        return Flux.fromIterable(buckets.asMap().entrySet())
+                .flatMap(entry -> syncBucket(entry, window, interval), 32)
+                .then();
+    }
+
+    private Mono<Void> syncBucket(Map.Entry<String, TokenBucket> entry, long window, Duration interval) {
+        long consumed = entry.getValue().drainConsumed();
+        if (consumed == 0) {
+            return Mono.empty();
+        }
+        String routeId = entry.getKey().substring(0, entry.getKey().indexOf('|'));
+        RateLimitProperties.Limit limit = properties.limitFor(routeId);
+        if (limit == null) {
+            return Mono.empty();
+        }
+        long allowedPerWindow = (long) Math.ceil(limit.getRefillPerSecond() * interval.toMillis() / 1000.0) + limit.getCapacity();
+
+        String key = KEY_PREFIX + entry.getKey() + ':' + window;
+        return reactiveRedisTemplate.opsForValue().increment(key, consumed)
+                .flatMap(total -> reactiveRedisTemplate.expire(key, interval.multipliedBy(2)).thenReturn(total))
+                .doOnNext(total -> {
+                    long excess = Math.min(total - allowedPerWindow, total - consumed);
+                    if (excess > 0) {
+                        entry.getValue().penalize(excess, System.nanoTime());
+                    }
+                })
+                .then();
+    }
+}
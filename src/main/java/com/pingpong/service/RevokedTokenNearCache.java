@@ -0,0 +1,220 @@
+package com.pingpong.service;
+
+import com.pingpong.common.TokenDigest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReactiveSubscription.PatternMessage;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 무효화된 토큰 digest를 gateway 노드마다 로컬에 보관하는 near-cache
+ *
+ * 시작 시 InvalidatedTokens keyspace를 SCAN 하여 적재하고, 이후 Redis keyspace notification으로 추가/삭제를 반영
+ * 동기화가 완료된 상태에서 로컬 집합에 없는 토큰은 Redis 조회 없이 유효한 토큰으로 판단
+ * 로컬 집합에 있거나 아직 동기화 중(또는 구독이 끊긴 상태)인 경우에만 Redis에 확인
+ *
+ * Redis 서버의 notify-keyspace-events에 K와 g, $, h, x 이벤트(예: KA)가 필요
+ * 시작 시와 주기적 재적재 때마다 CONFIG GET으로 확인하며, 설정이 없거나 확인할 수 없으면 동기화하지 않고 모든 조회를 Redis로 전달
+ * notification 유실에 대비해 동기화된 상태에서도 주기적으로 전체 목록을 다시 적재
+ */
+@Slf4j
+@Component
+public class RevokedTokenNearCache {
+
+    static final String KEY_PREFIX = "InvalidatedTokens:";
+    static final PatternTopic KEYSPACE_TOPIC = new PatternTopic("__keyspace@*__:" + KEY_PREFIX + "*");
+    static final String NOTIFY_KEYSPACE_EVENTS = "notify-keyspace-events";
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+
+    @Value("${jwt.invalidated-token.near-cache-resync-seconds:300}")
+    private long resyncSeconds = 300;
+
+    private volatile Set<String> revokedDigests = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> rescanDigests;
+    private volatile boolean inSync;
+    private Disposable subscription;
+
+    public RevokedTokenNearCache(ReactiveStringRedisTemplate reactiveRedisTemplate,
+                                 ReactiveRedisMessageListenerContainer listenerContainer) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void start() {
+        subscription = synchronize()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_BACKOFF)
+                        .maxBackoff(MAX_BACKOFF)
+                        .doBeforeRetry(signal -> log.warn("Revoked token near-cache out of sync, retrying: {}",
+                                signal.failure().toString())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        inSync = false;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * 로컬 판단만으로 유효한 토큰이라고 확정할 수 있는지 확인
+     * @param token 확인할 토큰
+     * @return 동기화된 상태에서 무효화 목록에 없으면 true, Redis 확인이 필요하면 false
+     */
+    public boolean isKnownValid(String token) {
+        return inSync && !revokedDigests.contains(TokenDigest.of(token));
+    }
+
+    /**
+     * Redis 조회 결과를 로컬 집합에 반영 (notification 유실로 남은 항목 정리)
+     * @param token 조회한 토큰
+     * @param revoked Redis 조회 결과
+     */
+    public void record(String token, boolean revoked) {
+        update(TokenDigest.of(token), revoked);
+    }
+
+    public boolean isInSync() {
+        return inSync;
+    }
+
+    /**
+     * notify-keyspace-events 설정을 확인하고 keyspace notification 구독을 먼저 완료한 뒤 전체 목록을 적재하여 그 사이의 변경이 유실되지 않도록 함
+     * 동기화 후에는 resync 주기마다 설정을 다시 확인하고 전체 목록을 다시 적재
+     * 구독이 끊기거나 설정이 빠지면 오류로 종료되어 재시도되며, 재동기화가 끝날 때까지 모든 조회는 Redis로 전달
+     */
+    private Mono<Void> synchronize() {
+        return Mono.defer(() -> {
+            inSync = false;
+            rescanDigests = null;
+            revokedDigests.clear();
+            return verifyKeyspaceEvents();
+        }).then(Mono.defer(() -> listenerContainer.receiveLater(KEYSPACE_TOPIC))).flatMap(messages -> Mono.when(
+                messages.doOnNext(this::apply)
+                        .then(Mono.error(new IllegalStateException("Keyspace subscription completed"))),
+                loadAll(revokedDigests).then(Mono.fromRunnable(() -> {
+                    inSync = true;
+                    log.info("Revoked token near-cache loaded {} tokens", revokedDigests.size());
+                })).thenMany(Flux.interval(Duration.ofSeconds(resyncSeconds)).concatMap(tick -> resync()))
+        )).doOnError(e -> inSync = false);
+    }
+
+    /**
+     * 전체 목록을 새 집합에 다시 적재한 뒤 교체
+     * 적재 중에 들어온 notification은 기존 집합과 새 집합에 모두 반영
+     */
+    private Mono<Void> resync() {
+        Set<String> rescanned = ConcurrentHashMap.newKeySet();
+        return verifyKeyspaceEvents()
+                .then(Mono.fromRunnable(() -> rescanDigests = rescanned))
+                .then(loadAll(rescanned))
+                .then(Mono.<Void>fromRunnable(() -> {
+                    revokedDigests = rescanned;
+                    log.debug("Revoked token near-cache reloaded {} tokens", rescanned.size());
+                }))
+                .doFinally(signal -> rescanDigests = null);
+    }
+
+    /**
+     * keyspace notification이 무효화 토큰의 추가(h, $), 삭제(g), 만료(x)를 모두 발행하는지 확인
+     */
+    private Mono<Void> verifyKeyspaceEvents() {
+        return reactiveRedisTemplate.execute(connection -> connection.serverCommands().getConfig(NOTIFY_KEYSPACE_EVENTS))
+                .next()
+                .map(config -> config.getProperty(NOTIFY_KEYSPACE_EVENTS, ""))
+                .defaultIfEmpty("")
+                .flatMap(flags -> {
+                    if (coversRevocations(flags)) {
+                        return Mono.empty();
+                    }
+                    log.error("Redis notify-keyspace-events is '{}', revoked token near-cache stays disabled "
+                            + "until it includes K and g$hx (e.g. KA)", flags);
+                    return Mono.error(new IllegalStateException("notify-keyspace-events does not cover revoked tokens"));
+                });
+    }
+
+    static boolean coversRevocations(String flags) {
+        if (flags.indexOf('K') < 0) {
+            return false;
+        }
+        if (flags.indexOf('A') >= 0) {
+            return true;
+        }
+        return flags.indexOf('g') >= 0 && flags.indexOf('$') >= 0 && flags.indexOf('h') >= 0
+                && flags.indexOf('x') >= 0;
+    }
+
+    private Mono<Void> loadAll(Set<String> digests) {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        return reactiveRedisTemplate.scan(options)
+                .filter(key -> key.startsWith(KEY_PREFIX) && key.length() > KEY_PREFIX.length())
+                .map(key -> key.substring(KEY_PREFIX.length()))
+                .filter(RevokedTokenNearCache::isTokenKey)
+                .doOnNext(token -> digests.add(TokenDigest.of(token)))
+                .then();
+    }
+
+    private void apply(PatternMessage<String, String, String> message) {
+        String channel = message.getChannel();
+        String token = channel.substring(channel.indexOf(KEY_PREFIX) + KEY_PREFIX.length());
+        if (!isTokenKey(token)) {
+            return;
+        }
+        switch (message.getMessage()) {
+            case "del":
+            case "unlink":
+            case "expired":
+            case "evicted":
+                update(TokenDigest.of(token), false);
+                break;
+            default:
+                update(TokenDigest.of(token), true);
+        }
+    }
+
+    /**
+     * 재적재 중이면 새 집합에도 반영 (교체 직전/직후의 변경이 유실되지 않도록 새 집합을 먼저 읽음)
+     */
+    private void update(String digest, boolean revoked) {
+        Set<String> rescanning = rescanDigests;
+        if (revoked) {
+            revokedDigests.add(digest);
+            if (rescanning != null) {
+                rescanning.add(digest);
+            }
+        } else {
+            revokedDigests.remove(digest);
+            if (rescanning != null) {
+                rescanning.remove(digest);
+            }
+        }
+    }
+
+    /**
+     * Spring Data Redis repository가 함께 만드는 보조 키(:idx, :phantom 등)는 제외
+     */
+    private static boolean isTokenKey(String suffix) {
+        return !suffix.isEmpty() && suffix.indexOf(':') < 0;
+    }
+}
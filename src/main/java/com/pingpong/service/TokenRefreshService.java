@@ -0,0 +1,114 @@
+package com.pingpong.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.exception.BusinessLogicException;
+import com.pingpong.exception.ExceptionCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Auth 서비스의 /refresh 엔드포인트를 호출하여 access token을 재발급하는 서비스
+ * 호출에는 AUTH-API로 로드밸런싱되는 공유 WebClient(WebClientConfig)를 사용
+ *
+ * 같은 토큰에 대한 동시 재발급 요청은 진행 중인 하나의 요청(Mono)을 공유하고,
+ * 완료된 결과는 grace window 동안 재사용하여 토큰당 재발급 호출을 한 번으로 제한
+ * (클라이언트가 응답 헤더로 받은 새 토큰으로 전환하기 전까지 보내는 이전 토큰도 같은 결과로 처리)
+ * 실패한 결과는 재사용하지 않음
+ */
+@Slf4j
+@Service
+public class TokenRefreshService {
+
+    private final TokenService tokenService;
+    private final WebClient authWebClient;
+    private final GatewayMetrics gatewayMetrics;
+    private final Cache<String, Mono<String>> refreshes;
+    private final Cache<String, String> refreshedTokens;
+    private final Semaphore backgroundPermits;
+
+    public TokenRefreshService(TokenService tokenService,
+                               @Qualifier("authWebClient") WebClient authWebClient,
+                               GatewayMetrics gatewayMetrics,
+                               @Value("${jwt.refresh-grace-seconds:30}") long refreshGraceSeconds,
+                               @Value("${jwt.async-refresh.max-concurrency:64}") int asyncRefreshMaxConcurrency) {
+        this.tokenService = tokenService;
+        this.authWebClient = authWebClient;
+        this.gatewayMetrics = gatewayMetrics;
+        this.refreshes = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(refreshGraceSeconds))
+                .build();
+        this.refreshedTokens = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(refreshGraceSeconds))
+                .build();
+        this.backgroundPermits = new Semaphore(asyncRefreshMaxConcurrency);
+    }
+
+    /**
+     * 토큰을 재발급하고 새 Authorization 헤더 값을 반환
+     * 같은 토큰으로 이미 진행 중이거나 grace window 내에 완료된 재발급이 있으면 그 결과를 공유
+     * @param token 현재 JWT 토큰
+     * @param username 토큰의 subject (Refresh Token 조회 키)
+     * @return 새 Authorization 헤더 값
+     */
+    public Mono<String> refresh(String token, String username) {
+        return refreshes.get(token, key -> requestRefresh(key, username));
+    }
+
+    /**
+     * 요청 처리와 별개로 백그라운드에서 토큰을 재발급
+     * 이미 진행 중이거나 완료된 재발급이 있으면 새로 시작하지 않으며,
+     * 동시 백그라운드 재발급 수가 한도를 넘으면 이번 요청에서는 건너뛰고 이후 요청에서 다시 시도
+     * @param token 현재 JWT 토큰
+     * @param username 토큰의 subject
+     */
+    public void refreshInBackground(String token, String username) {
+        if (refreshes.getIfPresent(token) != null || !backgroundPermits.tryAcquire()) {
+            return;
+        }
+        refresh(token, username)
+                .doFinally(signal -> backgroundPermits.release())
+                .subscribe(newToken -> { }, e -> log.debug("Background token refresh failed: {}", e.toString()));
+    }
+
+    /**
+     * grace window 내에 완료된 재발급 결과 조회
+     * @param token 이전 JWT 토큰
+     * @return 새 Authorization 헤더 값, 없으면 null
+     */
+    public String getRefreshed(String token) {
+        return refreshedTokens.getIfPresent(token);
+    }
+
+    private Mono<String> requestRefresh(String token, String username) {
+        return tokenService.refreshTokenExists(username)
+                .flatMap(exists -> exists ? callRefresh(token) : Mono.<String>error(new BusinessLogicException(ExceptionCode.TOKEN_EXPIRED)))
+                .doOnNext(newToken -> refreshedTokens.put(token, newToken))
+                .doOnError(e -> refreshes.invalidate(token))
+                .cache();
+    }
+
+    private Mono<String> callRefresh(String token) {
+        return gatewayMetrics.timeRefreshCall(authWebClient.post()
+                .uri("/refresh")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .toBodilessEntity()
+                .flatMap(response -> {
+                    String newToken = response.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+                    if (newToken == null) {
+                        return Mono.error(new BusinessLogicException(ExceptionCode.TOKEN_NOT_EXIST));
+                    }
+                    return Mono.just(newToken);
+                }));
+    }
+}
@@ -1,31 +1,109 @@
 package com.pingpong.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pingpong.common.BlockingScheduler;
+import com.pingpong.common.GatewayMetrics;
 import com.pingpong.entity.RefreshToken;
 import com.pingpong.exception.BusinessLogicException;
 import com.pingpong.exception.ExceptionCode;
-import com.pingpong.repository.InvalidatedTokenRepository;
 import com.pingpong.repository.RefreshTokenRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class TokenService {
 
-    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private static final String INVALIDATED_TOKEN_PREFIX = "InvalidatedTokens:";
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final RevokedTokenNearCache revokedTokenNearCache;
+    private final GatewayMetrics gatewayMetrics;
+    private final BlockingScheduler blockingScheduler;
+
+    @Value("${jwt.invalidated-token.timeout-millis:200}")
+    private long invalidatedTokenTimeoutMillis;
+    @Value("${jwt.invalidated-token.fail-open:false}")
+    private boolean invalidatedTokenFailOpen;
+    @Value("${jwt.refresh-token-exists-cache-seconds:5}")
+    private long refreshTokenExistsCacheSeconds;
+
+    private Cache<String, Boolean> refreshTokenExistence;
 
-    public RefreshToken getRefreshByUuid(String uuid) {
-        return refreshTokenRepository.findByUuid(uuid)
-                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.TOKEN_NOT_EXIST));
+    @PostConstruct
+    void initRefreshTokenExistenceCache() {
+        refreshTokenExistence = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(refreshTokenExistsCacheSeconds))
+                .build();
     }
 
+    /**
+     * uuid로 RefreshToken을 조회
+     * Redis repository 조회는 blocking 호출이므로 event loop가 아닌 BlockingScheduler에서 실행
+     * @param uuid RefreshToken의 uuid
+     * @return 조회된 RefreshToken, 없으면 TOKEN_NOT_EXIST 오류
+     */
+    public Mono<RefreshToken> getRefreshByUuid(String uuid) {
+        return blockingScheduler.call("refresh-token-by-uuid", () -> refreshTokenRepository.findByUuid(uuid))
+                .flatMap(refreshToken -> refreshToken
+                        .map(Mono::just)
+                        .orElseGet(() -> Mono.error(new BusinessLogicException(ExceptionCode.TOKEN_NOT_EXIST))));
+    }
+
+    /**
+     * 토큰이 무효화 목록(InvalidatedTokens keyspace)에 있는지 non-blocking으로 확인
+     * near-cache가 동기화된 상태에서 로컬 목록에 없는 토큰은 Redis 조회 없이 유효한 토큰으로 판단
+     * 조회가 timeout 또는 오류로 실패한 경우 fail-open이면 유효한 토큰으로 간주하고, fail-closed면 오류를 그대로 전달
+     * @param token 확인할 토큰
+     * @return 무효화된 토큰이면 true
+     */
     public Mono<Boolean> isTokenInvalidated(String token) {
-        return Mono.fromSupplier(() -> invalidatedTokenRepository.findByTokenInRedis(token) != null);
+        if (revokedTokenNearCache.isKnownValid(token)) {
+            return Mono.just(false);
+        }
+
+        Mono<Boolean> lookup = gatewayMetrics.timeRedisLookup("invalidated-token",
+                        reactiveRedisTemplate.hasKey(INVALIDATED_TOKEN_PREFIX + token)
+                                .timeout(Duration.ofMillis(invalidatedTokenTimeoutMillis)))
+                .doOnNext(revoked -> revokedTokenNearCache.record(token, revoked));
+
+        if (!invalidatedTokenFailOpen) {
+            return lookup;
+        }
+        return lookup.onErrorResume(e -> {
+            log.warn("Invalidated token lookup failed, allowing request (fail-open): {}", e.toString());
+            return Mono.just(false);
+        });
     }
 
-    public Boolean refreshTokenExists(String uuid) {
-        return refreshTokenRepository.findByUuid(uuid).isPresent();
+    /**
+     * uuid에 해당하는 RefreshToken이 존재하는지 non-blocking으로 확인
+     * 존재하는 경우만 짧은 시간 동안 로컬에 캐시하여 같은 사용자의 연속된 재발급 확인에서 Redis 조회를 생략
+     * 없다는 결과는 캐시하지 않아 방금 발급된 토큰도 바로 확인됨
+     * @param uuid RefreshToken의 uuid
+     * @return 존재하면 true
+     */
+    public Mono<Boolean> refreshTokenExists(String uuid) {
+        Boolean cached = refreshTokenExistence.getIfPresent(uuid);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return gatewayMetrics.timeRedisLookup("refresh-token", refreshTokenRepository.existsByUuidInRedis(uuid))
+                .doOnNext(exists -> {
+                    if (exists) {
+                        refreshTokenExistence.put(uuid, true);
+                    }
+                });
     }
 }
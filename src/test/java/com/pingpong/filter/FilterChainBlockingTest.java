@@ -0,0 +1,266 @@
+package com.pingpong.filter;
+
+import com.pingpong.common.BlockingScheduler;
+import com.pingpong.common.ErrorResponseWriter;
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.common.JwtUtils;
+import com.pingpong.common.TokenDigest;
+import com.pingpong.common.VerifiedTokenCache;
+import com.pingpong.entity.RefreshToken;
+import com.pingpong.property.BlockingSchedulerProperties;
+import com.pingpong.property.IdentityHeaderProperties;
+import com.pingpong.property.RateLimitProperties;
+import com.pingpong.repository.RefreshTokenRepository;
+import com.pingpong.service.RateLimitService;
+import com.pingpong.service.RevokedTokenNearCache;
+import com.pingpong.service.TokenRefreshService;
+import com.pingpong.service.TokenService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * BlockHound를 설치한 상태에서 대표적인 요청 시나리오로 필터 체인을 non-blocking thread(event loop 역할)에서 실행하여
+ * 요청 경로에 blocking 호출이 들어오면 실패하는지 검증
+ *
+ * ./gradlew blockingTest 로 별도 JVM에서 실행 (check에 포함)
+ * 클래스 로딩 등 최초 1회 초기화는 BlockHound 설치 전에 미리 수행
+ */
+@Tag("blocking")
+class FilterChainBlockingTest {
+
+    private static final String SECRET = "blocking-test-secret-key-blocking-test-secret-0123";
+    private static final Route AUTH_ROUTE = Route.async()
+            .id("auth-api-protected")
+            .uri(URI.create("lb://AUTH-API"))
+            .predicate(exchange -> true)
+            .build();
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private TokenService tokenService;
+    private List<GatewayFilter> filters;
+    private String validToken;
+    private String expiredToken;
+    private String revokedToken;
+
+    @BeforeAll
+    static void installBlockHound() {
+        warmUp();
+        BlockHound.install(builder -> builder.allowBlockingCallsInside(ClassLoader.class.getName(), "loadClass"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        validToken = token("user", TimeUnit.HOURS.toMillis(1));
+        expiredToken = token("expired-user", -TimeUnit.MINUTES.toMillis(1));
+        revokedToken = token("revoked-user", TimeUnit.HOURS.toMillis(1));
+        String refreshedToken = token("expired-user", TimeUnit.HOURS.toMillis(1));
+
+        GatewayMetrics gatewayMetrics = new GatewayMetrics(new SimpleMeterRegistry());
+        ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(gatewayMetrics);
+        JwtUtils jwtUtils = new JwtUtils(SECRET, new VerifiedTokenCache(1000, new SimpleMeterRegistry()), gatewayMetrics);
+
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        when(redisTemplate.hasKey(anyString()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0).equals("InvalidatedTokens:" + revokedToken)));
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.existsByUuidInRedis(anyString())).thenReturn(Mono.just(true));
+        when(refreshTokenRepository.findByUuid(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return Optional.of(RefreshToken.builder().token("refresh").uuid(invocation.getArgument(0)).build());
+        });
+
+        RevokedTokenNearCache nearCache = new RevokedTokenNearCache(redisTemplate,
+                mock(ReactiveRedisMessageListenerContainer.class));
+        BlockingScheduler blockingScheduler = new BlockingScheduler(new BlockingSchedulerProperties(), gatewayMetrics);
+        tokenService = new TokenService(refreshTokenRepository, redisTemplate, nearCache, gatewayMetrics,
+                blockingScheduler);
+        ReflectionTestUtils.setField(tokenService, "invalidatedTokenTimeoutMillis", 200L);
+        ReflectionTestUtils.setField(tokenService, "refreshTokenExistsCacheSeconds", 5L);
+        ReflectionTestUtils.invokeMethod(tokenService, "initRefreshTokenExistenceCache");
+
+        ExchangeStrategies strategies = ExchangeStrategies.withDefaults();
+        WebClient authWebClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK, strategies)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshedToken)
+                        .build()))
+                .build();
+        TokenRefreshService tokenRefreshService = new TokenRefreshService(tokenService, authWebClient, gatewayMetrics,
+                30, 64);
+
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(3);
+        limit.setRefillPerSecond(0.001);
+        rateLimitProperties.setDefaultLimit(limit);
+        RateLimitService rateLimitService = new RateLimitService(rateLimitProperties, redisTemplate);
+
+        JwtTokenRefreshFilter refreshFilter = new JwtTokenRefreshFilter(jwtUtils, tokenRefreshService, gatewayMetrics,
+                errorResponseWriter);
+        ReflectionTestUtils.setField(refreshFilter, "refreshThresholdMinutes", 5L);
+        ReflectionTestUtils.setField(refreshFilter, "refreshedTokenHeader", HttpHeaders.AUTHORIZATION);
+        ReflectionTestUtils.setField(refreshFilter, "asyncRefreshEnabled", true);
+
+        IdentityHeaderProperties identityProperties = new IdentityHeaderProperties();
+        identityProperties.setEnabled(true);
+        identityProperties.setSecret(SECRET);
+
+        // gateway의 필터 순서와 같게 구성
+        filters = List.of(
+                new RateLimitFilter(jwtUtils, rateLimitService, rateLimitProperties, gatewayMetrics, errorResponseWriter)::filter,
+                new GlobalInvalidatedTokenFilter(jwtUtils, tokenService, gatewayMetrics, errorResponseWriter)::filter,
+                refreshFilter::filter,
+                new JwtFilter(jwtUtils, gatewayMetrics, errorResponseWriter),
+                new IdentityHeaderFilter(identityProperties, jwtUtils)::filter);
+    }
+
+    @Test
+    void detectsBlockingCallOnNonBlockingThread() {
+        Throwable error = onNonBlockingThread(() -> Mono.fromCallable(() -> refreshTokenRepository.findByUuid("user")));
+
+        assertThat(error).isInstanceOf(BlockingOperationError.class);
+    }
+
+    @Test
+    void validTokenIsRoutedWithoutBlocking() {
+        AtomicReference<ServerWebExchange> routed = new AtomicReference<>();
+
+        assertThat(onNonBlockingThread(() -> run(exchange(validToken), routed))).isNull();
+        assertThat(routed.get()).isNotNull();
+        assertThat(routed.get().getRequest().getHeaders().getFirst("X-User-Id")).isEqualTo("user");
+    }
+
+    @Test
+    void missingTokenIsRejectedWithoutBlocking() {
+        MockServerWebExchange exchange = exchange(null);
+
+        assertThat(onNonBlockingThread(() -> run(exchange, new AtomicReference<>()))).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void revokedTokenIsRejectedWithoutBlocking() {
+        MockServerWebExchange exchange = exchange(revokedToken);
+
+        assertThat(onNonBlockingThread(() -> run(exchange, new AtomicReference<>()))).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void expiredTokenIsRefreshedWithoutBlocking() {
+        AtomicReference<ServerWebExchange> routed = new AtomicReference<>();
+
+        assertThat(onNonBlockingThread(() -> run(exchange(expiredToken), routed))).isNull();
+        assertThat(routed.get()).isNotNull();
+        assertThat(routed.get().getRequest().getHeaders().getFirst("X-User-Id")).isEqualTo("expired-user");
+    }
+
+    @Test
+    void rateLimitedRequestIsRejectedWithoutBlocking() {
+        MockServerWebExchange exchange = exchange(validToken);
+
+        assertThat(onNonBlockingThread(() -> Mono.when(
+                run(exchange(validToken), new AtomicReference<>()),
+                run(exchange(validToken), new AtomicReference<>()),
+                run(exchange(validToken), new AtomicReference<>()))
+                .then(run(exchange, new AtomicReference<>())))).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void blockingRepositoryCallIsOffloaded() {
+        AtomicReference<RefreshToken> refreshToken = new AtomicReference<>();
+
+        assertThat(onNonBlockingThread(() -> tokenService.getRefreshByUuid("user").doOnNext(refreshToken::set)))
+                .isNull();
+        assertThat(refreshToken.get().getUuid()).isEqualTo("user");
+    }
+
+    /**
+     * Reactor parallel thread(BlockHound가 non-blocking으로 취급)에서 실행하고 발생한 오류를 반환
+     */
+    private static Throwable onNonBlockingThread(Supplier<Mono<?>> work) {
+        return Mono.defer(work)
+                .subscribeOn(Schedulers.parallel())
+                .then(Mono.<Throwable>empty())
+                .onErrorResume(Mono::just)
+                .block(Duration.ofSeconds(5));
+    }
+
+    private Mono<Void> run(ServerWebExchange exchange, AtomicReference<ServerWebExchange> routed) {
+        return chain(0, routed).filter(exchange);
+    }
+
+    private GatewayFilterChain chain(int index, AtomicReference<ServerWebExchange> routed) {
+        return exchange -> index < filters.size()
+                ? filters.get(index).filter(exchange, chain(index + 1, routed))
+                : Mono.fromRunnable(() -> routed.set(exchange));
+    }
+
+    private static MockServerWebExchange exchange(String token) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/auth/employees");
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, AUTH_ROUTE);
+        return exchange;
+    }
+
+    private static String token(String subject, long expiresInMillis) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    /**
+     * 보안 provider, codec 등 최초 1회 초기화를 BlockHound 설치 전에 수행
+     */
+    private static void warmUp() {
+        String token = token("warm-up", TimeUnit.MINUTES.toMillis(1));
+        GatewayMetrics gatewayMetrics = new GatewayMetrics(new SimpleMeterRegistry());
+        new JwtUtils(SECRET, new VerifiedTokenCache(10, new SimpleMeterRegistry()), gatewayMetrics).verify(token);
+        TokenDigest.of(token);
+        ExchangeStrategies.withDefaults();
+    }
+}
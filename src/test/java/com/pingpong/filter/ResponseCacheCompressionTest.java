@@ -0,0 +1,141 @@
+package com.pingpong.filter;
+
+import com.pingpong.common.GatewayMetrics;
+import com.pingpong.common.JwtUtils;
+import com.pingpong.common.VerifiedTokenCache;
+import com.pingpong.property.CompressionProperties;
+import com.pingpong.property.ResponseCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * CompressionFilter(바깥)와 ResponseCacheFilter(안쪽)를 gateway 순서대로 연결하여
+ * 캐시 miss 후 hit 응답도 올바른 gzip body와 헤더로 전달되는지 검증
+ */
+class ResponseCacheCompressionTest {
+
+    private static final String SECRET = "response-cache-test-secret-key-response-cache-0123";
+    private static final Route CORE_ROUTE = Route.async()
+            .id("core-api")
+            .uri(URI.create("lb://CORE-API"))
+            .predicate(exchange -> true)
+            .build();
+    private static final String BODY = "{\"items\":[" + "\"compressible-item\",".repeat(200) + "\"last\"]}";
+
+    private MeterRegistry meterRegistry;
+    private CompressionFilter compressionFilter;
+    private ResponseCacheFilter responseCacheFilter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        GatewayMetrics gatewayMetrics = new GatewayMetrics(meterRegistry);
+        JwtUtils jwtUtils = new JwtUtils(SECRET, new VerifiedTokenCache(10, meterRegistry), gatewayMetrics);
+        compressionFilter = new CompressionFilter(new CompressionProperties(), gatewayMetrics);
+        responseCacheFilter = new ResponseCacheFilter(new ResponseCacheProperties(), gatewayMetrics, jwtUtils,
+                meterRegistry);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void servesGzipOnMissAndOnHit() throws IOException {
+        MockServerWebExchange miss = gzipRequest();
+        run(miss);
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(miss.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(miss.getResponse())).isEqualTo(BODY);
+
+        MockServerWebExchange hit = gzipRequest();
+        run(hit);
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(meterRegistry.get("gateway.response-cache.requests").tag("outcome", "hit").counter().count())
+                .isEqualTo(1);
+        assertThat(hit.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(hit.getResponse().getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(hit.getResponse())).isEqualTo(BODY);
+    }
+
+    @Test
+    void servesIdentityHitToClientWithoutGzip() {
+        run(gzipRequest());
+
+        MockServerWebExchange hit = MockServerWebExchange.from(MockServerHttpRequest.get("/core/items").build());
+        hit.getAttributes().put(GATEWAY_ROUTE_ATTR, CORE_ROUTE);
+        run(hit);
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(hit.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(hit.getResponse().getBodyAsString().block(Duration.ofSeconds(5))).isEqualTo(BODY);
+    }
+
+    private MockServerWebExchange gzipRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/core/items")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .build());
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, CORE_ROUTE);
+        return exchange;
+    }
+
+    /**
+     * gateway 필터 순서(CompressionFilter -3, ResponseCacheFilter -2, upstream writer -1)대로 실행
+     */
+    private void run(ServerWebExchange exchange) {
+        compressionFilter.filter(exchange, compressed -> responseCacheFilter.filter(compressed, this::upstream))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private Mono<Void> upstream(ServerWebExchange exchange) {
+        upstreamCalls.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        response.getHeaders().setCacheControl("max-age=60");
+        response.getHeaders().setETag("\"v1\"");
+        int half = body.length / 2;
+        return response.writeWith(Flux.just(
+                response.bufferFactory().wrap(Arrays.copyOfRange(body, 0, half)),
+                response.bufferFactory().wrap(Arrays.copyOfRange(body, half, body.length))));
+    }
+
+    private static String gunzip(MockServerHttpResponse response) throws IOException {
+        DataBuffer joined = DataBufferUtils.join(response.getBody()).block(Duration.ofSeconds(5));
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
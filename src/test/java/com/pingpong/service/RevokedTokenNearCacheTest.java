@@ -0,0 +1,138 @@
+package com.pingpong.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveSubscription.PatternMessage;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 대신 stand-in(mock) 템플릿과 keyspace notification 스트림으로 near-cache 동기화를 검증
+ */
+class RevokedTokenNearCacheTest {
+
+    private static final String PATTERN = RevokedTokenNearCache.KEYSPACE_TOPIC.getTopic();
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private ReactiveRedisMessageListenerContainer listenerContainer;
+    private Sinks.Many<PatternMessage<String, String, String>> notifications;
+    private RevokedTokenNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        listenerContainer = mock(ReactiveRedisMessageListenerContainer.class);
+        notifications = Sinks.many().multicast().directBestEffort();
+        nearCache = new RevokedTokenNearCache(redisTemplate, listenerContainer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nearCache.stop();
+    }
+
+    @Test
+    void loadsRevokedTokensOnStartup() {
+        givenKeys("InvalidatedTokens:revoked", "InvalidatedTokens", "InvalidatedTokens:revoked:phantom");
+
+        nearCache.start();
+
+        assertThat(nearCache.isInSync()).isTrue();
+        assertThat(nearCache.isKnownValid("revoked")).isFalse();
+        assertThat(nearCache.isKnownValid("other")).isTrue();
+    }
+
+    @Test
+    void staysOutOfSyncWhenKeyspaceEventsAreDisabled() {
+        givenKeys("InvalidatedTokens:revoked");
+        givenKeyspaceEvents("");
+
+        nearCache.start();
+
+        assertThat(nearCache.isInSync()).isFalse();
+        assertThat(nearCache.isKnownValid("other")).isFalse();
+    }
+
+    @Test
+    void rejectsKeyspaceEventsWithoutExpiredEvents() {
+        assertThat(RevokedTokenNearCache.coversRevocations("KA")).isTrue();
+        assertThat(RevokedTokenNearCache.coversRevocations("g$hxK")).isTrue();
+        assertThat(RevokedTokenNearCache.coversRevocations("g$hK")).isFalse();
+        assertThat(RevokedTokenNearCache.coversRevocations("A")).isFalse();
+        assertThat(RevokedTokenNearCache.coversRevocations("AE")).isFalse();
+    }
+
+    @Test
+    void periodicResyncRemovesTokensWithLostNotifications() throws InterruptedException {
+        givenKeys("InvalidatedTokens:revoked");
+        ReflectionTestUtils.setField(nearCache, "resyncSeconds", 1L);
+        nearCache.start();
+        assertThat(nearCache.isKnownValid("revoked")).isFalse();
+
+        // 삭제 notification이 유실된 상태에서 Redis에서는 삭제됨
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(Flux.empty());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!nearCache.isKnownValid("revoked") && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(nearCache.isInSync()).isTrue();
+        assertThat(nearCache.isKnownValid("revoked")).isTrue();
+    }
+
+    @Test
+    void appliesKeyspaceNotifications() {
+        givenKeys();
+        nearCache.start();
+
+        notify("InvalidatedTokens:late", "hset");
+        assertThat(nearCache.isKnownValid("late")).isFalse();
+
+        notify("InvalidatedTokens:late", "expired");
+        assertThat(nearCache.isKnownValid("late")).isTrue();
+    }
+
+    @Test
+    void fallsBackToRedisWhenSubscriptionIsLost() {
+        givenKeys();
+        nearCache.start();
+
+        notifications.tryEmitError(new IllegalStateException("connection reset"));
+
+        assertThat(nearCache.isInSync()).isFalse();
+        assertThat(nearCache.isKnownValid("any")).isFalse();
+    }
+
+    private void givenKeys(String... keys) {
+        givenKeyspaceEvents("AKE");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(Flux.just(keys));
+        when(listenerContainer.receiveLater(any(PatternTopic.class))).thenReturn(Mono.just(notifications.asFlux()));
+    }
+
+    private void givenKeyspaceEvents(String flags) {
+        Properties config = new Properties();
+        config.setProperty(RevokedTokenNearCache.NOTIFY_KEYSPACE_EVENTS, flags);
+        doReturn(Flux.just(config)).when(redisTemplate).execute(any(ReactiveRedisCallback.class));
+    }
+
+    private void notify(String key, String event) {
+        notifications.tryEmitNext(new PatternMessage<>(PATTERN, "__keyspace@0__:" + key, event));
+    }
+}